@@ -0,0 +1,57 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Deserializer which produces {@link Buffer}. A buffer that is embedded in the parsed tree is returned as is,
+ * everything else is read as binary data.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+class BufferDeserializer extends StdDeserializer<Buffer> {
+
+    /**
+     * @see Serializable
+     */
+    private static final long serialVersionUID = -2877514624851960361L;
+
+    /**
+     * Singleton instance of {@link BufferDeserializer}
+     *
+     * @since 3.0
+     */
+    public final static BufferDeserializer INSTANCE = new BufferDeserializer();
+
+    /**
+     * Creates a new deserializer.
+     *
+     * @since 3.0
+     */
+    BufferDeserializer() {
+        super(Buffer.class);
+    }
+
+    @Override
+    public Buffer deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        JsonToken t = jp.getCurrentToken();
+
+        if (t == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            Object embedded = jp.getEmbeddedObject();
+            if (embedded instanceof Buffer) {
+                return (Buffer) embedded;
+            }
+        } else if (t != JsonToken.VALUE_STRING) {
+            throw ctxt.mappingException(Buffer.class, t);
+        }
+
+        return Buffer.buffer(jp.getBinaryValue());
+    }
+}
@@ -0,0 +1,36 @@
+package de.crunc.jackson.datatype.vertx;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.io.OutputStream;
+
+/**
+ * Appends everything that is written to a {@link Buffer}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+class BufferOutputStream extends OutputStream {
+
+    private final Buffer buffer;
+
+    /**
+     * Creates a new stream that appends to the given buffer.
+     *
+     * @param buffer The buffer which is appended to. Must not be {@code null}.
+     * @since 3.0
+     */
+    BufferOutputStream(Buffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) {
+        buffer.appendByte((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        buffer.appendBytes(b, off, len);
+    }
+}
@@ -0,0 +1,37 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+
+/**
+ * Serializes values of type {@link Buffer} as binary data, written from the backing array of the buffer if possible.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+class BufferSerializer extends JsonBaseSerializer<Buffer> {
+
+    /**
+     * Singleton instance of {@link BufferSerializer}
+     *
+     * @since 3.0
+     */
+    public final static BufferSerializer INSTANCE = new BufferSerializer();
+
+    /**
+     * Creates a new serializer.
+     *
+     * @since 3.0
+     */
+    BufferSerializer() {
+        super(Buffer.class);
+    }
+
+    @Override
+    public void serialize(Buffer value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        JsonValueKind.BUFFER.write(value, jgen, provider);
+    }
+}
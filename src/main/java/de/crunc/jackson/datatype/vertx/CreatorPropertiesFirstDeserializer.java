@@ -0,0 +1,65 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import de.crunc.jackson.datatype.vertx.parser.JsonElementParser;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Deserializer for beans with a property based creator. When reading through a {@link JsonElementParser} the
+ * properties of the creator are requested first, so that the bean can be created as soon as they have been read and
+ * the remaining properties are set directly instead of being buffered. Other parsers are passed through unchanged.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+class CreatorPropertiesFirstDeserializer extends DelegatingDeserializer {
+
+    /**
+     * @see Serializable
+     */
+    private static final long serialVersionUID = -5119307431525934472L;
+
+    /**
+     * The names of the creator properties, in the order of the creator parameters.
+     */
+    private final String[] creatorPropertyNames;
+
+    /**
+     * Creates a new deserializer.
+     *
+     * @param delegatee            The deserializer of the bean.
+     * @param creatorPropertyNames The names of the creator properties of the bean.
+     * @since 3.0
+     */
+    CreatorPropertiesFirstDeserializer(JsonDeserializer<?> delegatee, String[] creatorPropertyNames) {
+        super(delegatee);
+        this.creatorPropertyNames = creatorPropertyNames;
+    }
+
+    @Override
+    protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+        return new CreatorPropertiesFirstDeserializer(newDelegatee, creatorPropertyNames);
+    }
+
+    @Override
+    public Object deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        if (jp instanceof JsonElementParser && jp.getCurrentToken() == JsonToken.START_OBJECT) {
+            ((JsonElementParser) jp).prioritizeFields(creatorPropertyNames);
+        }
+        return super.deserialize(jp, ctxt);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonDeserializer<Object> unwrappingDeserializer(NameTransformer unwrapper) {
+        // unwrapped properties are read from the enclosing object, so there is nothing to prioritize
+        return (JsonDeserializer<Object>) _delegatee.unwrappingDeserializer(unwrapper);
+    }
+}
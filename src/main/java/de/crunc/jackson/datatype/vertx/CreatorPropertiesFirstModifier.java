@@ -0,0 +1,50 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+
+import java.io.Serializable;
+
+/**
+ * Wraps the deserializers of beans with a property based creator (e.g. a constructor annotated with
+ * {@link com.fasterxml.jackson.annotation.JsonCreator}) in a {@link CreatorPropertiesFirstDeserializer}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+class CreatorPropertiesFirstModifier extends BeanDeserializerModifier implements Serializable {
+
+    /**
+     * @see Serializable
+     */
+    private static final long serialVersionUID = 5326186094508631975L;
+
+    @Override
+    public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                                                  JsonDeserializer<?> deserializer) {
+        if (!(deserializer instanceof BeanDeserializerBase)) {
+            return deserializer;
+        }
+
+        ValueInstantiator instantiator = ((BeanDeserializerBase) deserializer).getValueInstantiator();
+        if (instantiator == null || !instantiator.canCreateFromObjectWith()) {
+            return deserializer;
+        }
+
+        SettableBeanProperty[] creatorProperties = instantiator.getFromObjectArguments(config);
+        if (creatorProperties == null || creatorProperties.length == 0) {
+            return deserializer;
+        }
+
+        String[] names = new String[creatorProperties.length];
+        for (int i = 0; i < creatorProperties.length; ++i) {
+            names[i] = creatorProperties[i].getName();
+        }
+        return new CreatorPropertiesFirstDeserializer(deserializer, names);
+    }
+}
@@ -0,0 +1,117 @@
+package de.crunc.jackson.datatype.vertx;
+
+import io.vertx.core.json.JsonObject;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded table of field names, which lets the fields of many {@link JsonObject}s share a single {@link String}
+ * instance per name. Names are added until the table is full, after that unknown names are handed back as they are.
+ * The table can be shared by any number of threads.
+ * <p>
+ * Jackson's own parsers already canonicalize field names per {@link com.fasterxml.jackson.core.JsonFactory} and intern
+ * them if {@link com.fasterxml.jackson.core.JsonFactory.Feature#INTERN_FIELD_NAMES} is enabled. A table that interns
+ * its names as well hands out the very instances those parsers produce, so names read from text and names that come
+ * from trees, generators and builders are shared.
+ * <p>
+ * A serialized table keeps its configuration, but not its names; it starts empty once it is deserialized.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+public final class FieldNameTable implements Serializable {
+
+    /**
+     * @see Serializable
+     */
+    private static final long serialVersionUID = -3528011735410383362L;
+
+    private final transient ConcurrentMap<String, String> names;
+
+    private final int maxSize;
+
+    private final boolean intern;
+
+    /**
+     * Creates a new table which holds up to the given number of names.
+     *
+     * @param maxSize The maximum number of names. Concurrent additions may exceed it slightly.
+     * @throws IllegalArgumentException If the given maximum size is negative.
+     * @since 3.0
+     */
+    public FieldNameTable(int maxSize) {
+        this(maxSize, false);
+    }
+
+    /**
+     * Creates a new table which holds up to the given number of names.
+     *
+     * @param maxSize The maximum number of names. Concurrent additions may exceed it slightly.
+     * @param intern  Whether names are {@link String#intern() interned} when they are added, like Jackson's parsers do
+     *                with {@link com.fasterxml.jackson.core.JsonFactory.Feature#INTERN_FIELD_NAMES}.
+     * @throws IllegalArgumentException If the given maximum size is negative.
+     * @since 3.0
+     */
+    public FieldNameTable(int maxSize, boolean intern) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+
+        this.names = new ConcurrentHashMap<String, String>(Math.min(maxSize, 256));
+        this.maxSize = maxSize;
+        this.intern = intern;
+    }
+
+    /**
+     * Retrieves the canonical instance of the given name. The name is added to the table if it is unknown and the
+     * table is not yet full.
+     *
+     * @param name The name. Must not be {@code null}.
+     * @return The canonical instance or the given name if the table is full.
+     * @throws IllegalArgumentException If the given name is {@code null}.
+     * @since 3.0
+     */
+    public String canonicalize(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("name must not be null");
+        }
+
+        String canonical = names.get(name);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (names.size() >= maxSize) {
+            return name;
+        }
+
+        canonical = intern ? name.intern() : name;
+        String existing = names.putIfAbsent(canonical, canonical);
+        return existing != null ? existing : canonical;
+    }
+
+    /**
+     * Retrieves the number of names in this table.
+     *
+     * @return The number of names.
+     * @since 3.0
+     */
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Retrieves the maximum number of names in this table.
+     *
+     * @return The maximum number of names.
+     * @since 3.0
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private Object readResolve() {
+        return new FieldNameTable(maxSize, intern);
+    }
+}
@@ -142,7 +142,7 @@ public class JsonArrayBuilder {
      * @since 2.1
      */
     public JsonArray build() {
-        JsonArray array = new JsonArray();
+        JsonArray array = new JsonArray(new ArrayList<Object>(values.size()));
 
         for (Object value : values) {
             if (value instanceof JsonNull) {
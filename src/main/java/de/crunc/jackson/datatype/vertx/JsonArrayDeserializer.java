@@ -4,8 +4,10 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import de.crunc.jackson.datatype.vertx.parser.JsonElementParser;
 import io.vertx.core.json.JsonArray;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.Serializable;
 
@@ -27,53 +29,45 @@ class JsonArrayDeserializer extends StdDeserializer<JsonArray> {
      *
      * @since 2.1
      */
-    public final static JsonArrayDeserializer INSTANCE = new JsonArrayDeserializer();
+    public final static JsonArrayDeserializer INSTANCE = new JsonObjectDeserializer().arrays();
 
     /**
-     * Creates a new deserializer.
+     * Reads arrays with the same configuration.
+     */
+    private final JsonObjectDeserializer objects;
+
+    /**
+     * Reads arrays lazily, {@code null} if arrays are read completely.
+     */
+    @Nullable
+    private final LazyJsonReader lazy;
+
+    /**
+     * Creates a new deserializer which reads arrays with the given deserializer.
      *
-     * @since 2.1
+     * @param objects The deserializer for objects, which reads arrays as well.
+     * @param lazy    The reader for lazily read arrays. Can be {@code null} to read arrays completely.
+     * @since 3.0
      */
-    JsonArrayDeserializer() {
+    JsonArrayDeserializer(JsonObjectDeserializer objects, @Nullable LazyJsonReader lazy) {
         super(JsonArray.class);
+        this.objects = objects;
+        this.lazy = lazy;
     }
 
+    /**
+     * Arrays that are read lazily are copied in their encoded form, unless they are read from a tree.
+     *
+     * @see JsonObjectDeserializer#read(JsonParser, DeserializationContext)
+     */
     @Override
     public JsonArray deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
-        JsonArrayBuilder builder = JsonArrayBuilder.array();
-
-        JsonToken t;
-        while ((t = jp.nextToken()) != JsonToken.END_ARRAY) {
-            switch (t) {
-                case START_ARRAY:
-                    builder.add(deserialize(jp, ctx));
-                    continue;
-                case START_OBJECT:
-                    builder.add(JsonObjectDeserializer.INSTANCE.deserialize(jp, ctx));
-                    continue;
-                case VALUE_STRING:
-                    builder.add(jp.getText());
-                    continue;
-                case VALUE_NULL:
-                    builder.addNull();
-                    continue;
-                case VALUE_TRUE:
-                    builder.add(Boolean.TRUE);
-                    continue;
-                case VALUE_FALSE:
-                    builder.add(Boolean.FALSE);
-                    continue;
-                case VALUE_NUMBER_INT:
-                    builder.add(jp.getNumberValue());
-                    continue;
-                case VALUE_NUMBER_FLOAT:
-                    builder.add(jp.getNumberValue());
-                    continue;
-                default:
-                    throw ctx.mappingException("Unrecognized or unsupported JsonToken type: " + t);
-            }
+        if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+            throw ctx.mappingException(JsonArray.class);
         }
-
-        return builder.build();
+        if (lazy != null && !(jp instanceof JsonElementParser)) {
+            return (JsonArray) lazy.capture(jp, ctx);
+        }
+        return (JsonArray) objects.read(jp, ctx);
     }
 }
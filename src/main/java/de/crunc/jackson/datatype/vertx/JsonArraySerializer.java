@@ -5,8 +5,8 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import de.crunc.jackson.datatype.vertx.generator.JsonElementGenerator;
 import io.vertx.core.json.JsonArray;
-import io.vertx.core.json.JsonObject;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
@@ -39,6 +39,17 @@ class JsonArraySerializer extends JsonBaseSerializer<JsonArray> {
     @Override
     public void serialize(JsonArray value, JsonGenerator jgen, SerializerProvider provider)
             throws IOException {
+        JsonElementGenerator generator = attachingGenerator(jgen, provider);
+        if (generator != null) {
+            generator.writeJsonArray(value);
+            return;
+        }
+        RawJson raw = verbatim(value.getList(), jgen, provider);
+        if (raw != null) {
+            jgen.writeRawValue(raw);
+            return;
+        }
+
         jgen.writeStartArray();
         serializeContents(value, jgen, provider);
         jgen.writeEndArray();
@@ -66,34 +77,7 @@ class JsonArraySerializer extends JsonBaseSerializer<JsonArray> {
 
         for (int i = 0, len = value.size(); i < len; ++i) {
             Object ob = value.get(i);
-            if (ob == null) {
-                jgen.writeNull();
-                continue;
-            }
-            Class<?> cls = ob.getClass();
-            if (cls == JsonObject.class) {
-                JsonObjectSerializer.INSTANCE.serialize((JsonObject) ob, jgen, provider);
-            } else if (cls == JsonArray.class) {
-                serialize((JsonArray) ob, jgen, provider);
-            } else if (cls == String.class) {
-                jgen.writeString((String) ob);
-            } else if (cls == Integer.class) {
-                jgen.writeNumber(((Integer) ob).intValue());
-            } else if (cls == Long.class) {
-                jgen.writeNumber(((Long) ob).longValue());
-            } else if (cls == Boolean.class) {
-                jgen.writeBoolean(((Boolean) ob).booleanValue());
-            } else if (cls == Double.class) {
-                jgen.writeNumber(((Double) ob).doubleValue());
-            } else if (JsonObject.class.isAssignableFrom(cls)) { // sub-class
-                JsonObjectSerializer.INSTANCE.serialize((JsonObject) ob, jgen, provider);
-            } else if (JsonArray.class.isAssignableFrom(cls)) { // sub-class
-                serialize((JsonArray) ob, jgen, provider);
-            } else if (JsonArray.class.isAssignableFrom(cls)) { // sub-class
-                JsonArraySerializer.INSTANCE.serialize((JsonArray) ob, jgen, provider);
-            } else {
-                provider.defaultSerializeValue(ob, jgen);
-            }
+            JsonValueKind.of(ob).write(ob, jgen, provider);
         }
     }
 }
@@ -1,6 +1,14 @@
 package de.crunc.jackson.datatype.vertx;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import de.crunc.jackson.datatype.vertx.generator.JsonElementGenerator;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import javax.annotation.Nullable;
 
 /**
  * Common base class for all serializers.
@@ -19,4 +27,49 @@ public abstract class JsonBaseSerializer<T> extends StdSerializer<T> {
     protected JsonBaseSerializer(Class<T> cls) {
         super(cls);
     }
+
+    /**
+     * Retrieves the given generator as {@link JsonElementGenerator} if a {@link JsonObject} or {@link JsonArray} can
+     * be attached to it as a whole instead of being written field by field.
+     *
+     * @param jgen     The generator the value is written to.
+     * @param provider The provider the value is serialized with. Can be {@code null}.
+     * @return The generator or {@code null} if the value has to be written field by field.
+     * @since 3.0
+     */
+    @Nullable
+    protected static JsonElementGenerator attachingGenerator(JsonGenerator jgen, @Nullable SerializerProvider provider) {
+        if (jgen instanceof JsonElementGenerator
+                && ((JsonElementGenerator) jgen).canAttachSubtrees()
+                && (provider == null || provider.isEnabled(SerializationFeature.WRITE_NULL_MAP_VALUES))) {
+            return (JsonElementGenerator) jgen;
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the encoded form of the given backing map or list of a lazily read {@link JsonObject} or
+     * {@link JsonArray} if it has not been accessed yet and can be written to the given generator verbatim.
+     *
+     * @param contents The backing map or list.
+     * @param jgen     The generator the value is written to.
+     * @param provider The provider the value is serialized with. Can be {@code null}.
+     * @return The encoded form or {@code null} if the value has to be written field by field.
+     * @since 3.0
+     */
+    @Nullable
+    static RawJson verbatim(Object contents, JsonGenerator jgen, @Nullable SerializerProvider provider) {
+        if (jgen instanceof JsonElementGenerator || jgen.getPrettyPrinter() != null) {
+            return null;
+        }
+        if (contents instanceof LazyJsonMap) {
+            if (provider != null && !provider.isEnabled(SerializationFeature.WRITE_NULL_MAP_VALUES)) {
+                return null;
+            }
+            return ((LazyJsonMap) contents).untouched();
+        } else if (contents instanceof LazyJsonList) {
+            return ((LazyJsonList) contents).untouched();
+        }
+        return null;
+    }
 }
@@ -0,0 +1,764 @@
+package de.crunc.jackson.datatype.vertx;
+
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import javax.annotation.Nullable;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes a {@link JsonObject} or {@link JsonArray} from UTF-8 encoded chunks as they arrive, e.g. from an
+ * {@link io.vertx.core.http.HttpServerRequest} or a {@link io.vertx.core.net.NetSocket}. Each chunk is decoded as soon
+ * as it is fed, so that neither the body needs to be aggregated nor decoded as a whole once it is complete:
+ * <pre>
+ * JsonFeedDecoder decoder = new JsonFeedDecoder();
+ * request.handler(decoder);
+ * request.endHandler(v -&gt; {
+ *     JsonObject json = decoder.end();
+ *     ...
+ * });
+ * </pre>
+ * Values are represented like the deserializers of {@link VertxJsonModule} represent them, with the same number
+ * policy, field name table, value cache and limits, and with numbers with a fraction as {@code double}s unless
+ * {@link #setBigDecimalForFloats(boolean) decimals} are configured like
+ * {@link com.fasterxml.jackson.databind.DeserializationFeature#USE_BIG_DECIMAL_FOR_FLOATS} does. Strings that exceed
+ * the limits are rejected while they are still being received. Documents that are no valid JSON or exceed the limits
+ * fail with a {@link DecodeException}; the decoder can not be fed any further after that.
+ * <p>
+ * A decoder is not thread-safe. It decodes a single document and can be {@link #reset() reset} to decode another one.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+public final class JsonFeedDecoder implements Handler<Buffer> {
+
+    /**
+     * Expects a value, after a colon or a comma within an array, or the root.
+     */
+    private static final int VALUE = 0;
+
+    /**
+     * Expects the first element of an array or its end.
+     */
+    private static final int FIRST_ELEMENT = 1;
+
+    /**
+     * Expects the first field name of an object or its end.
+     */
+    private static final int FIRST_FIELD = 2;
+
+    /**
+     * Expects a field name, after a comma within an object.
+     */
+    private static final int FIELD = 3;
+
+    private static final int COLON = 4;
+
+    /**
+     * Expects a comma or the end of the current object or array.
+     */
+    private static final int NEXT = 5;
+
+    private static final int STRING = 6;
+
+    private static final int NUMBER = 7;
+
+    private static final int LITERAL = 8;
+
+    /**
+     * The root has been decoded, only whitespace may follow.
+     */
+    private static final int DONE = 9;
+
+    private static final int FAILED = 10;
+
+    /**
+     * The maximum number of bytes that encode a single character, i.e. an escape like <code>&#92;u00e4</code>.
+     */
+    private static final int MAX_BYTES_PER_CHAR = 6;
+
+    private NumberPolicy numberPolicy = NumberPolicy.EXACT;
+
+    @Nullable
+    private FieldNameTable fieldNames = null;
+
+    @Nullable
+    private ValueCache values = null;
+
+    private JsonLimits limits = JsonLimits.UNLIMITED;
+
+    private boolean bigDecimals = false;
+
+    private int state;
+
+    /**
+     * The open objects and arrays, outermost first.
+     */
+    private Object[] containers = new Object[8];
+
+    private int[] entries = new int[8];
+
+    private int depth;
+
+    /**
+     * The innermost open container, either as map or as list.
+     */
+    @Nullable
+    private Map<String, Object> map;
+
+    @Nullable
+    private List<Object> list;
+
+    @Nullable
+    private String fieldName;
+
+    @Nullable
+    private Object root;
+
+    private long nodes;
+
+    /**
+     * The number of bytes that have been fed before the current chunk.
+     */
+    private long position;
+
+    /**
+     * The offset of the current chunk within its array.
+     */
+    private int chunkOffset;
+
+    /**
+     * The bytes of the current string or number.
+     */
+    private byte[] scratch = new byte[64];
+
+    private int scratchLength;
+
+    private boolean stringIsName;
+
+    private boolean escaped;
+
+    private boolean hasEscapes;
+
+    @Nullable
+    private String literal;
+
+    private int literalIndex;
+
+    @Nullable
+    private Object literalValue;
+
+    /**
+     * Creates a new decoder.
+     *
+     * @since 3.0
+     */
+    public JsonFeedDecoder() {
+        reset();
+    }
+
+    /**
+     * Configures how big numbers are represented. {@link NumberPolicy#EXACT} by default.
+     *
+     * @param policy The policy. Must not be {@code null}.
+     * @return {@code this}
+     * @throws IllegalArgumentException If the given policy is {@code null}.
+     * @see VertxJsonModule#configureNumberPolicy(NumberPolicy)
+     * @since 3.0
+     */
+    public JsonFeedDecoder setNumberPolicy(NumberPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("policy must not be null");
+        }
+        numberPolicy = policy;
+        return this;
+    }
+
+    /**
+     * Configures a table field names are taken from. By default field names are stored as they are decoded.
+     *
+     * @param table The table field names are taken from. Can be {@code null} to store field names as they are.
+     * @return {@code this}
+     * @see VertxJsonModule#configureFieldNameTable(FieldNameTable)
+     * @since 3.0
+     */
+    public JsonFeedDecoder setFieldNameTable(@Nullable FieldNameTable table) {
+        fieldNames = table;
+        return this;
+    }
+
+    /**
+     * Configures a cache short strings and numbers are taken from. By default values are stored as they are decoded.
+     *
+     * @param cache The cache values are taken from. Can be {@code null} to store values as they are.
+     * @return {@code this}
+     * @see VertxJsonModule#configureValueCache(ValueCache)
+     * @since 3.0
+     */
+    public JsonFeedDecoder setValueCache(@Nullable ValueCache cache) {
+        values = cache;
+        return this;
+    }
+
+    /**
+     * Configures the limits for the decoded document. {@link JsonLimits#UNLIMITED} by default.
+     *
+     * @param limits The limits. Must not be {@code null}.
+     * @return {@code this}
+     * @throws IllegalArgumentException If the given limits are {@code null}.
+     * @see VertxJsonModule#configureLimits(JsonLimits)
+     * @since 3.0
+     */
+    public JsonFeedDecoder setLimits(JsonLimits limits) {
+        if (limits == null) {
+            throw new IllegalArgumentException("limits must not be null");
+        }
+        this.limits = limits;
+        return this;
+    }
+
+    /**
+     * Configures whether numbers with a fraction or an exponent are decoded as decimals, to which the
+     * {@link #setNumberPolicy(NumberPolicy) number policy} applies, instead of {@code double}s. Disabled by default.
+     *
+     * @param enabled {@code true} to decode decimals.
+     * @return {@code this}
+     * @see com.fasterxml.jackson.databind.DeserializationFeature#USE_BIG_DECIMAL_FOR_FLOATS
+     * @since 3.0
+     */
+    public JsonFeedDecoder setBigDecimalForFloats(boolean enabled) {
+        bigDecimals = enabled;
+        return this;
+    }
+
+    /**
+     * Resets this decoder so that it can decode another document. The configuration is kept.
+     *
+     * @return {@code this}
+     * @since 3.0
+     */
+    public JsonFeedDecoder reset() {
+        Arrays.fill(containers, 0, depth, null);
+        state = VALUE;
+        depth = 0;
+        map = null;
+        list = null;
+        fieldName = null;
+        root = null;
+        nodes = 0;
+        position = 0;
+        scratchLength = 0;
+        literal = null;
+        literalValue = null;
+        return this;
+    }
+
+    /**
+     * Feeds the given chunk to this decoder.
+     *
+     * @param chunk The chunk. Must not be {@code null}.
+     * @throws DecodeException If the document is invalid or exceeds the limits.
+     * @see #feed(Buffer)
+     */
+    @Override
+    public void handle(Buffer chunk) {
+        feed(chunk);
+    }
+
+    /**
+     * Feeds the readable bytes of the given chunk to this decoder. The chunk is not retained.
+     *
+     * @param chunk The chunk. Must not be {@code null}.
+     * @return {@code this}
+     * @throws IllegalArgumentException If the given chunk is {@code null}.
+     * @throws DecodeException          If the document is invalid or exceeds the limits.
+     * @since 3.0
+     */
+    public JsonFeedDecoder feed(Buffer chunk) {
+        if (chunk == null) {
+            throw new IllegalArgumentException("chunk must not be null");
+        }
+
+        ByteBuf buf = chunk.getByteBuf();
+        if (buf.hasArray()) {
+            return feed(buf.array(), buf.arrayOffset() + buf.readerIndex(), buf.readableBytes());
+        }
+        byte[] bytes = chunk.getBytes();
+        return feed(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Feeds the given range of bytes to this decoder. The array is not retained.
+     *
+     * @param bytes  The array that contains the chunk. Must not be {@code null}.
+     * @param offset The offset of the chunk within the array.
+     * @param length The number of bytes of the chunk.
+     * @return {@code this}
+     * @throws IllegalArgumentException If the given array is {@code null} or the range is out of its bounds.
+     * @throws DecodeException          If the document is invalid or exceeds the limits.
+     * @since 3.0
+     */
+    public JsonFeedDecoder feed(byte[] bytes, int offset, int length) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("bytes must not be null");
+        }
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IllegalArgumentException("range [" + offset + ", " + (offset + length) + ") is out of bounds");
+        }
+        if (state == FAILED) {
+            throw new IllegalStateException("can not feed a decoder that has failed");
+        }
+
+        chunkOffset = offset;
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            switch (state) {
+                case STRING:
+                    i = scanString(bytes, i, end);
+                    break;
+                case NUMBER:
+                    i = scanNumber(bytes, i, end);
+                    break;
+                case LITERAL:
+                    i = scanLiteral(bytes, i, end);
+                    break;
+                default:
+                    byte b = bytes[i];
+                    if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                        structural(b, i);
+                    }
+                    ++i;
+                    break;
+            }
+        }
+        position += length;
+        return this;
+    }
+
+    /**
+     * Retrieves whether a complete document has been decoded.
+     *
+     * @return {@code true} if the document is complete.
+     * @since 3.0
+     */
+    public boolean isComplete() {
+        return state == DONE;
+    }
+
+    /**
+     * Retrieves the decoded document once all chunks have been fed.
+     *
+     * @param <T> The type of the document, {@link JsonObject} or {@link JsonArray}.
+     * @return The decoded document.
+     * @throws DecodeException If the document is not complete.
+     * @since 3.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T end() {
+        if (state != DONE) {
+            throw new DecodeException("Failed to decode: unexpected end of input after " + position + " bytes");
+        }
+        return (T) root;
+    }
+
+    private void structural(byte b, int index) {
+        switch (state) {
+            case VALUE:
+                startValue(b, index);
+                return;
+            case FIRST_ELEMENT:
+                if (b == ']') {
+                    endContainer();
+                } else {
+                    startValue(b, index);
+                }
+                return;
+            case FIRST_FIELD:
+                if (b == '}') {
+                    endContainer();
+                } else {
+                    startFieldName(b, index);
+                }
+                return;
+            case FIELD:
+                startFieldName(b, index);
+                return;
+            case COLON:
+                if (b != ':') {
+                    throw err("expected ':'", index);
+                }
+                state = VALUE;
+                return;
+            case NEXT:
+                if (b == ',') {
+                    state = map != null ? FIELD : VALUE;
+                } else if (b == '}' && map != null || b == ']' && list != null) {
+                    endContainer();
+                } else {
+                    throw err("expected ',' or end of " + (map != null ? "object" : "array"), index);
+                }
+                return;
+            default:
+                throw err("unexpected content after the document", index);
+        }
+    }
+
+    private void startFieldName(byte b, int index) {
+        if (b != '"') {
+            throw err("expected field name", index);
+        }
+        startString(true);
+    }
+
+    private void startValue(byte b, int index) {
+        if (depth == 0) {
+            if (b != '{' && b != '[') {
+                throw err("expected object or array", index);
+            }
+            nodes = 1;
+        } else {
+            if (++entries[depth - 1] > limits.getMaxEntries()) {
+                throw err("container exceeds the maximum of " + limits.getMaxEntries() + " entries", index);
+            }
+            if (++nodes > limits.getMaxNodes()) {
+                throw err("document exceeds the maximum of " + limits.getMaxNodes() + " values", index);
+            }
+        }
+
+        switch (b) {
+            case '{':
+            case '[':
+                startContainer(b == '{', index);
+                return;
+            case '"':
+                startString(false);
+                return;
+            case 't':
+                startLiteral("true", Boolean.TRUE);
+                return;
+            case 'f':
+                startLiteral("false", Boolean.FALSE);
+                return;
+            case 'n':
+                startLiteral("null", null);
+                return;
+            default:
+                if (b == '-' || b >= '0' && b <= '9') {
+                    scratch[0] = b;
+                    scratchLength = 1;
+                    state = NUMBER;
+                    return;
+                }
+                throw err("unexpected character '" + (char) b + "'", index);
+        }
+    }
+
+    private void startContainer(boolean object, int index) {
+        if (depth + 1 > limits.getMaxDepth()) {
+            throw err("document exceeds the maximum depth of " + limits.getMaxDepth(), index);
+        }
+
+        Map<String, Object> childMap = null;
+        List<Object> childList = null;
+        Object container;
+        if (object) {
+            childMap = new LinkedHashMap<String, Object>();
+            container = new JsonObject(childMap);
+        } else {
+            childList = new ArrayList<Object>();
+            container = new JsonArray(childList);
+        }
+
+        if (depth == 0) {
+            root = container;
+        } else {
+            add(container);
+        }
+        if (depth == containers.length) {
+            containers = Arrays.copyOf(containers, depth * 2);
+            entries = Arrays.copyOf(entries, depth * 2);
+        }
+        containers[depth] = container;
+        entries[depth] = 0;
+        ++depth;
+        map = childMap;
+        list = childList;
+        state = object ? FIRST_FIELD : FIRST_ELEMENT;
+    }
+
+    private void endContainer() {
+        containers[--depth] = null;
+        if (depth == 0) {
+            map = null;
+            list = null;
+            state = DONE;
+            return;
+        }
+
+        Object parent = containers[depth - 1];
+        if (parent instanceof JsonObject) {
+            map = ((JsonObject) parent).getMap();
+            list = null;
+        } else {
+            map = null;
+            list = listOf((JsonArray) parent);
+        }
+        state = NEXT;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> listOf(JsonArray array) {
+        return array.getList();
+    }
+
+    private void add(@Nullable Object value) {
+        if (map != null) {
+            map.put(fieldName, value);
+            fieldName = null;
+        } else {
+            list.add(value);
+        }
+        state = NEXT;
+    }
+
+    private void startString(boolean name) {
+        stringIsName = name;
+        escaped = false;
+        hasEscapes = false;
+        scratchLength = 0;
+        state = STRING;
+    }
+
+    private int scanString(byte[] bytes, int i, int end) {
+        int start = i;
+        for (; i < end; ++i) {
+            byte b = bytes[i];
+            if (escaped) {
+                escaped = false;
+            } else if (b == '"') {
+                append(bytes, start, i - start);
+                endString(i);
+                return i + 1;
+            } else if (b == '\\') {
+                escaped = true;
+                hasEscapes = true;
+            } else if (b >= 0 && b < 0x20) {
+                throw err("unescaped control character in string", i);
+            }
+        }
+        append(bytes, start, end - start);
+        if (scratchLength > (long) limits.getMaxStringLength() * MAX_BYTES_PER_CHAR) {
+            throw err("text exceeds the maximum length of " + limits.getMaxStringLength(), end);
+        }
+        return end;
+    }
+
+    private void endString(int index) {
+        String text = hasEscapes
+                ? unescape(index)
+                : new String(scratch, 0, scratchLength, StandardCharsets.UTF_8);
+        if (text.length() > limits.getMaxStringLength()) {
+            throw err("text exceeds the maximum length of " + limits.getMaxStringLength(), index);
+        }
+
+        if (stringIsName) {
+            fieldName = fieldNames != null ? fieldNames.canonicalize(text) : text;
+            state = COLON;
+        } else {
+            add(values != null ? values.canonicalize(text) : text);
+        }
+    }
+
+    private String unescape(int index) {
+        StringBuilder text = new StringBuilder(scratchLength);
+        int start = 0;
+        for (int i = 0; i < scratchLength; ++i) {
+            if (scratch[i] != '\\') {
+                continue;
+            }
+            text.append(new String(scratch, start, i - start, StandardCharsets.UTF_8));
+            byte e = scratch[++i];
+            switch (e) {
+                case '"':
+                case '\\':
+                case '/':
+                    text.append((char) e);
+                    break;
+                case 'b':
+                    text.append('\b');
+                    break;
+                case 'f':
+                    text.append('\f');
+                    break;
+                case 'n':
+                    text.append('\n');
+                    break;
+                case 'r':
+                    text.append('\r');
+                    break;
+                case 't':
+                    text.append('\t');
+                    break;
+                case 'u':
+                    text.append(hex(i + 1, index));
+                    i += 4;
+                    break;
+                default:
+                    throw err("invalid escape '\\" + (char) e + "'", index);
+            }
+            start = i + 1;
+        }
+        return text.append(new String(scratch, start, scratchLength - start, StandardCharsets.UTF_8)).toString();
+    }
+
+    private char hex(int start, int index) {
+        if (start + 4 > scratchLength) {
+            throw err("invalid unicode escape", index);
+        }
+        int c = 0;
+        for (int i = start; i < start + 4; ++i) {
+            int digit = Character.digit(scratch[i], 16);
+            if (digit < 0) {
+                throw err("invalid unicode escape", index);
+            }
+            c = c << 4 | digit;
+        }
+        return (char) c;
+    }
+
+    private int scanNumber(byte[] bytes, int i, int end) {
+        int start = i;
+        for (; i < end; ++i) {
+            byte b = bytes[i];
+            if (!(b >= '0' && b <= '9' || b == '.' || b == 'e' || b == 'E' || b == '-' || b == '+')) {
+                append(bytes, start, i - start);
+                endNumber(i);
+                return i;
+            }
+        }
+        append(bytes, start, end - start);
+        if (scratchLength > limits.getMaxStringLength()) {
+            throw err("text exceeds the maximum length of " + limits.getMaxStringLength(), end);
+        }
+        return end;
+    }
+
+    /**
+     * Numbers are represented like Jackson's parsers report them: integers as {@link Integer} or {@link Long} if
+     * they fit, as {@link BigInteger} otherwise, and all other numbers as {@link Double}, or as decimals if configured.
+     * The number policy applies to {@link BigInteger}s and decimals.
+     */
+    private void endNumber(int index) {
+        if (scratchLength > limits.getMaxStringLength()) {
+            throw err("text exceeds the maximum length of " + limits.getMaxStringLength(), index);
+        }
+        if (!isNumber()) {
+            throw err("invalid number", index);
+        }
+
+        String text = new String(scratch, 0, scratchLength, StandardCharsets.ISO_8859_1);
+        Object number;
+        if (!isIntegral()) {
+            number = bigDecimals ? numberPolicy.applyEncoded(text) : Double.parseDouble(text);
+        } else if (scratchLength - (scratch[0] == '-' ? 1 : 0) <= 18) {
+            long l = Long.parseLong(text);
+            number = l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE ? (Object) (int) l : (Object) l;
+        } else {
+            BigInteger big = new BigInteger(text);
+            number = big.bitLength() < 64 ? (Object) big.longValue() : numberPolicy.apply(big);
+        }
+        add(values != null ? values.canonicalize(number) : number);
+    }
+
+    private boolean isNumber() {
+        int i = scratch[0] == '-' ? 1 : 0;
+        if (i < scratchLength && scratch[i] == '0') {
+            ++i;
+        } else {
+            int digits = skipDigits(i);
+            if (digits == i) {
+                return false;
+            }
+            i = digits;
+        }
+        if (i < scratchLength && scratch[i] == '.') {
+            int digits = skipDigits(++i);
+            if (digits == i) {
+                return false;
+            }
+            i = digits;
+        }
+        if (i < scratchLength && (scratch[i] == 'e' || scratch[i] == 'E')) {
+            ++i;
+            if (i < scratchLength && (scratch[i] == '+' || scratch[i] == '-')) {
+                ++i;
+            }
+            int digits = skipDigits(i);
+            if (digits == i) {
+                return false;
+            }
+            i = digits;
+        }
+        return i == scratchLength;
+    }
+
+    private int skipDigits(int i) {
+        while (i < scratchLength && scratch[i] >= '0' && scratch[i] <= '9') {
+            ++i;
+        }
+        return i;
+    }
+
+    private boolean isIntegral() {
+        for (int i = 0; i < scratchLength; ++i) {
+            byte b = scratch[i];
+            if (b == '.' || b == 'e' || b == 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void startLiteral(String text, @Nullable Object value) {
+        literal = text;
+        literalIndex = 1;
+        literalValue = value;
+        state = LITERAL;
+    }
+
+    private int scanLiteral(byte[] bytes, int i, int end) {
+        for (; i < end && literalIndex < literal.length(); ++i, ++literalIndex) {
+            if (bytes[i] != literal.charAt(literalIndex)) {
+                throw err("invalid literal, expected '" + literal + "'", i);
+            }
+        }
+        if (literalIndex == literal.length()) {
+            add(literalValue);
+        }
+        return i;
+    }
+
+    private void append(byte[] bytes, int offset, int length) {
+        if (scratchLength + length > scratch.length) {
+            scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, scratchLength + length));
+        }
+        System.arraycopy(bytes, offset, scratch, scratchLength, length);
+        scratchLength += length;
+    }
+
+    private DecodeException err(String message, int index) {
+        state = FAILED;
+        return new DecodeException("Failed to decode: " + message + " near byte " + (position + index - chunkOffset));
+    }
+}
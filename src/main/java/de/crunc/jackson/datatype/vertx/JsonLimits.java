@@ -0,0 +1,173 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Limits for the {@link JsonObject}s and {@link JsonArray}s that are deserialized, so that a hostile or broken
+ * document can neither exhaust the memory nor pin the thread that reads it. The limits are checked while the document
+ * is read; a document that exceeds one of them fails with a {@link JsonMappingException}. Instances are immutable.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+public final class JsonLimits implements Serializable {
+
+    /**
+     * @see Serializable
+     */
+    private static final long serialVersionUID = 2716730913467958252L;
+
+    /**
+     * No limits at all.
+     *
+     * @since 3.0
+     */
+    public static final JsonLimits UNLIMITED =
+            new JsonLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    private final int maxDepth;
+
+    private final int maxEntries;
+
+    private final int maxStringLength;
+
+    private final long maxNodes;
+
+    private JsonLimits(int maxDepth, int maxEntries, int maxStringLength, long maxNodes) {
+        this.maxDepth = maxDepth;
+        this.maxEntries = maxEntries;
+        this.maxStringLength = maxStringLength;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Creates a copy of these limits with the given maximum nesting depth of objects and arrays.
+     *
+     * @param maxDepth The maximum depth, {@code 1} allows a single object or array without nested ones.
+     * @return The new limits.
+     * @throws IllegalArgumentException If the given depth is not positive.
+     * @since 3.0
+     */
+    public JsonLimits withMaxDepth(int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("maxDepth must be positive");
+        }
+        return new JsonLimits(maxDepth, maxEntries, maxStringLength, maxNodes);
+    }
+
+    /**
+     * Creates a copy of these limits with the given maximum number of fields per object and elements per array.
+     *
+     * @param maxEntries The maximum number of entries.
+     * @return The new limits.
+     * @throws IllegalArgumentException If the given number is negative.
+     * @since 3.0
+     */
+    public JsonLimits withMaxEntries(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        }
+        return new JsonLimits(maxDepth, maxEntries, maxStringLength, maxNodes);
+    }
+
+    /**
+     * Creates a copy of these limits with the given maximum length of strings, field names and number literals.
+     *
+     * @param maxStringLength The maximum number of characters.
+     * @return The new limits.
+     * @throws IllegalArgumentException If the given length is negative.
+     * @since 3.0
+     */
+    public JsonLimits withMaxStringLength(int maxStringLength) {
+        if (maxStringLength < 0) {
+            throw new IllegalArgumentException("maxStringLength must not be negative");
+        }
+        return new JsonLimits(maxDepth, maxEntries, maxStringLength, maxNodes);
+    }
+
+    /**
+     * Creates a copy of these limits with the given maximum number of values in a document, which counts every
+     * object, array and scalar.
+     *
+     * @param maxNodes The maximum number of values.
+     * @return The new limits.
+     * @throws IllegalArgumentException If the given number is not positive.
+     * @since 3.0
+     */
+    public JsonLimits withMaxNodes(long maxNodes) {
+        if (maxNodes <= 0) {
+            throw new IllegalArgumentException("maxNodes must be positive");
+        }
+        return new JsonLimits(maxDepth, maxEntries, maxStringLength, maxNodes);
+    }
+
+    /**
+     * Retrieves the maximum nesting depth of objects and arrays.
+     *
+     * @return The maximum depth.
+     * @since 3.0
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Retrieves the maximum number of fields per object and elements per array.
+     *
+     * @return The maximum number of entries.
+     * @since 3.0
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Retrieves the maximum length of strings, field names and number literals.
+     *
+     * @return The maximum number of characters.
+     * @since 3.0
+     */
+    public int getMaxStringLength() {
+        return maxStringLength;
+    }
+
+    /**
+     * Retrieves the maximum number of values in a document.
+     *
+     * @return The maximum number of values.
+     * @since 3.0
+     */
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    void checkDepth(JsonParser jp, int depth) throws JsonMappingException {
+        if (depth > maxDepth) {
+            throw JsonMappingException.from(jp, "document exceeds the maximum depth of " + maxDepth);
+        }
+    }
+
+    void checkEntries(JsonParser jp, int entries) throws JsonMappingException {
+        if (entries > maxEntries) {
+            throw JsonMappingException.from(jp, "container exceeds the maximum of " + maxEntries + " entries");
+        }
+    }
+
+    void checkNodes(JsonParser jp, long nodes) throws JsonMappingException {
+        if (nodes > maxNodes) {
+            throw JsonMappingException.from(jp, "document exceeds the maximum of " + maxNodes + " values");
+        }
+    }
+
+    void checkLength(JsonParser jp) throws IOException {
+        if (maxStringLength != Integer.MAX_VALUE && jp.getTextLength() > maxStringLength) {
+            throw JsonMappingException.from(jp, "text exceeds the maximum length of " + maxStringLength);
+        }
+    }
+}
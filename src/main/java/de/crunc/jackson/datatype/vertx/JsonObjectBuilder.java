@@ -17,6 +17,11 @@ public class JsonObjectBuilder {
 
     private final Map<String, Object> values;
 
+    /**
+     * The table field names are taken from, {@code null} if field names are stored as they are.
+     */
+    private FieldNameTable fieldNames = null;
+
     private JsonObjectBuilder() {
         values = new HashMap<String, Object>();
     }
@@ -30,7 +35,7 @@ public class JsonObjectBuilder {
      * @since 2.1
      */
     public JsonObjectBuilder put(String name, @Nullable JsonObject object) {
-        values.put(name, object);
+        values.put(fieldName(name), object);
         return this;
     }
 
@@ -59,7 +64,7 @@ public class JsonObjectBuilder {
      * @since 2.1
      */
     public JsonObjectBuilder put(String name, @Nullable JsonArray array) {
-        values.put(name, array);
+        values.put(fieldName(name), array);
         return this;
     }
 
@@ -88,7 +93,7 @@ public class JsonObjectBuilder {
      * @since 2.1
      */
     public JsonObjectBuilder put(String name, @Nullable String string) {
-        values.put(name, string);
+        values.put(fieldName(name), string);
         return this;
     }
 
@@ -101,7 +106,7 @@ public class JsonObjectBuilder {
      * @since 2.1
      */
     public JsonObjectBuilder put(String name, @Nullable Number number) {
-        values.put(name, number);
+        values.put(fieldName(name), number);
         return this;
     }
 
@@ -114,7 +119,7 @@ public class JsonObjectBuilder {
      * @since 2.1
      */
     public JsonObjectBuilder put(String name, @Nullable Boolean bool) {
-        values.put(name, bool);
+        values.put(fieldName(name), bool);
         return this;
     }
 
@@ -127,7 +132,7 @@ public class JsonObjectBuilder {
      * @since 2.1
      */
     public JsonObjectBuilder put(String name, @Nullable byte[] bytes) {
-        values.put(name, bytes);
+        values.put(fieldName(name), bytes);
         return this;
     }
 
@@ -139,10 +144,27 @@ public class JsonObjectBuilder {
      * @since 2.1
      */
     public JsonObjectBuilder putNull(String name) {
-        values.put(name, null);
+        values.put(fieldName(name), null);
+        return this;
+    }
+
+    /**
+     * Takes the names of the fields that are added from now on from the given table, so that objects with the same
+     * fields share the field name instances.
+     *
+     * @param table The table field names are taken from. Can be {@code null} to store field names as they are.
+     * @return {@code this}
+     * @since 3.0
+     */
+    public JsonObjectBuilder withFieldNameTable(@Nullable FieldNameTable table) {
+        fieldNames = table;
         return this;
     }
 
+    private String fieldName(String name) {
+        return fieldNames == null || name == null ? name : fieldNames.canonicalize(name);
+    }
+
     /**
      * Builds a new object which contains the fields that have been added to this builder so far.
      *
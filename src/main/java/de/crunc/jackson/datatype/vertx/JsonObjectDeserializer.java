@@ -4,10 +4,20 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import de.crunc.jackson.datatype.vertx.generator.ContainerSizes;
+import de.crunc.jackson.datatype.vertx.parser.JsonElementParser;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Deserializer which produces {@link JsonObject}.
@@ -29,58 +39,234 @@ class JsonObjectDeserializer extends StdDeserializer<JsonObject> {
      */
     public final static JsonObjectDeserializer INSTANCE = new JsonObjectDeserializer();
 
+    private final NumberPolicy numberPolicy;
+
+    @Nullable
+    private final FieldNameTable fieldNames;
+
+    @Nullable
+    private final ValueCache values;
+
+    private final JsonLimits limits;
+
+    /**
+     * Reads objects lazily, {@code null} if objects are read completely.
+     */
+    @Nullable
+    private final LazyJsonReader lazy;
+
+    /**
+     * Deserializes arrays with the same configuration.
+     */
+    private final JsonArrayDeserializer arrays;
+
     /**
      * Creates a new deserializer.
      *
      * @since 2.1
      */
     JsonObjectDeserializer() {
+        this(NumberPolicy.EXACT, null, null, JsonLimits.UNLIMITED, false);
+    }
+
+    /**
+     * Creates a new deserializer which represents big numbers according to the given policy, takes field names and
+     * values from the given table and cache, enforces the given limits and optionally reads objects lazily.
+     *
+     * @param numberPolicy The policy for big numbers.
+     * @param fieldNames   The table field names are taken from. Can be {@code null}, in which case field names are
+     *                     stored as the parser reports them.
+     * @param values       The cache strings and numbers are taken from. Can be {@code null}, in which case values are
+     *                     stored as the parser reports them.
+     * @param limits       The limits for the documents that are read.
+     * @param lazy         Whether objects are kept encoded and only read when they are accessed.
+     * @since 3.0
+     */
+    JsonObjectDeserializer(NumberPolicy numberPolicy, @Nullable FieldNameTable fieldNames,
+                           @Nullable ValueCache values, JsonLimits limits, boolean lazy) {
         super(JsonObject.class);
+        this.numberPolicy = numberPolicy;
+        this.fieldNames = fieldNames;
+        this.values = values;
+        this.limits = limits;
+        this.lazy = lazy ? new LazyJsonReader(numberPolicy, fieldNames, values, limits) : null;
+        this.arrays = new JsonArrayDeserializer(this, this.lazy);
+    }
+
+    /**
+     * Retrieves the deserializer for arrays with the same configuration as this deserializer.
+     *
+     * @return The deserializer for arrays.
+     * @since 3.0
+     */
+    JsonArrayDeserializer arrays() {
+        return arrays;
     }
 
+    /**
+     * Objects that are read lazily are copied in their encoded form, unless they are read from a tree.
+     *
+     * @see #read(JsonParser, DeserializationContext)
+     */
     @Override
     public JsonObject deserialize(JsonParser jp, DeserializationContext ctxt)
             throws IOException {
-        JsonObjectBuilder builder = JsonObjectBuilder.object();
+        if (lazy != null && jp.getCurrentToken() == JsonToken.START_OBJECT && !(jp instanceof JsonElementParser)) {
+            return (JsonObject) lazy.capture(jp, ctxt);
+        }
+        return (JsonObject) read(jp, ctxt);
+    }
+
+    /**
+     * Reads the object or array the given parser is positioned at. The document is read in a single loop with an
+     * explicit stack of open containers instead of recursing per nesting level, so that the depth of a document is
+     * bound by the limits only and not by the stack of the calling thread.
+     * <p>
+     * Nested objects and arrays are wrapped and added to their parent as soon as they start; their fields and
+     * elements are put straight into the backing map and list. Binary values are stored Base64 encoded, like
+     * {@link JsonObject#put(String, byte[])} does.
+     *
+     * @param jp   The parser, positioned at {@link JsonToken#START_OBJECT}, at the first {@link JsonToken#FIELD_NAME}
+     *             of an object or at {@link JsonToken#START_ARRAY}.
+     * @param ctxt The context.
+     * @return The {@link JsonObject} or {@link JsonArray}.
+     * @throws IOException If the document can not be read or exceeds the limits.
+     * @since 3.0
+     */
+    @SuppressWarnings("unchecked")
+    Object read(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        Object[] containers = new Object[8];
+        int[] entries = new int[8];
+        int depth = 1;
+        long nodes = 1;
+
+        // the innermost open container, either as map or as list
+        Map<String, Object> map = null;
+        List<Object> list = null;
 
         JsonToken t = jp.getCurrentToken();
-        if (t == JsonToken.START_OBJECT) {
+        Object root;
+        if (t == JsonToken.START_ARRAY) {
+            list = newList(jp);
+            root = new JsonArray(list);
             t = jp.nextToken();
+        } else {
+            map = newMap(jp);
+            root = new JsonObject(map);
+            if (t == JsonToken.START_OBJECT) {
+                t = jp.nextToken();
+            }
         }
-        for (; t == JsonToken.FIELD_NAME; t = jp.nextToken()) {
-            String fieldName = jp.getCurrentName();
-            t = jp.nextToken();
+        containers[0] = root;
 
+        while (true) {
+            String fieldName = null;
+            if (t == JsonToken.END_OBJECT || t == JsonToken.END_ARRAY) {
+                containers[--depth] = null;
+                if (depth == 0) {
+                    return root;
+                }
+                Object parent = containers[depth - 1];
+                if (parent instanceof JsonObject) {
+                    map = ((JsonObject) parent).getMap();
+                    list = null;
+                } else {
+                    map = null;
+                    list = ((JsonArray) parent).getList();
+                }
+                t = jp.nextToken();
+                continue;
+            } else if (map != null) {
+                if (t != JsonToken.FIELD_NAME) {
+                    throw ctxt.mappingException("Unexpected token " + t + " in object");
+                }
+                limits.checkLength(jp);
+                fieldName = jp.getCurrentName();
+                if (fieldNames != null) {
+                    fieldName = fieldNames.canonicalize(fieldName);
+                }
+                t = jp.nextToken();
+            }
+
+            limits.checkEntries(jp, ++entries[depth - 1]);
+            limits.checkNodes(jp, ++nodes);
+
+            Object value;
             switch (t) {
-                case START_ARRAY:
-                    builder.put(fieldName, JsonArrayDeserializer.INSTANCE.deserialize(jp, ctxt));
-                    continue;
                 case START_OBJECT:
-                    builder.put(fieldName, deserialize(jp, ctxt));
+                case START_ARRAY:
+                    limits.checkDepth(jp, depth + 1);
+                    Map<String, Object> childMap = null;
+                    List<Object> childList = null;
+                    if (t == JsonToken.START_OBJECT) {
+                        childMap = newMap(jp);
+                        value = new JsonObject(childMap);
+                    } else {
+                        childList = newList(jp);
+                        value = new JsonArray(childList);
+                    }
+                    if (map != null) {
+                        map.put(fieldName, value);
+                    } else {
+                        list.add(value);
+                    }
+                    if (depth == containers.length) {
+                        containers = Arrays.copyOf(containers, depth * 2);
+                        entries = Arrays.copyOf(entries, depth * 2);
+                    }
+                    containers[depth] = value;
+                    entries[depth] = 0;
+                    ++depth;
+                    map = childMap;
+                    list = childList;
+                    t = jp.nextToken();
                     continue;
                 case VALUE_STRING:
-                    builder.put(fieldName, jp.getText());
-                    continue;
+                    limits.checkLength(jp);
+                    value = value(jp.getText());
+                    break;
                 case VALUE_NULL:
-                    builder.putNull(fieldName);
-                    continue;
+                    value = null;
+                    break;
                 case VALUE_TRUE:
-                    builder.put(fieldName, Boolean.TRUE);
-                    continue;
+                    value = Boolean.TRUE;
+                    break;
                 case VALUE_FALSE:
-                    builder.put(fieldName, Boolean.FALSE);
-                    continue;
+                    value = Boolean.FALSE;
+                    break;
                 case VALUE_NUMBER_INT:
-                    builder.put(fieldName, jp.getNumberValue());
-                    continue;
                 case VALUE_NUMBER_FLOAT:
-                    builder.put(fieldName, jp.getNumberValue());
-                    continue;
+                    limits.checkLength(jp);
+                    value = value(numberPolicy.read(jp, ctxt));
+                    break;
+                case VALUE_EMBEDDED_OBJECT:
+                    value = Base64.getEncoder().encodeToString(jp.getBinaryValue());
+                    break;
                 default:
                     throw ctxt.mappingException("Unrecognized or unsupported JsonToken type: " + t);
             }
+            if (map != null) {
+                map.put(fieldName, value);
+            } else {
+                list.add(value);
+            }
+            t = jp.nextToken();
         }
+    }
+
+    private static Map<String, Object> newMap(JsonParser jp) {
+        int size = jp instanceof JsonElementParser ? ((JsonElementParser) jp).getCurrentContainerSize() : -1;
+        return size < 0
+                ? new LinkedHashMap<String, Object>()
+                : new LinkedHashMap<String, Object>(ContainerSizes.mapCapacity(size));
+    }
+
+    private static List<Object> newList(JsonParser jp) {
+        int size = jp instanceof JsonElementParser ? ((JsonElementParser) jp).getCurrentContainerSize() : -1;
+        return size < 0 ? new ArrayList<Object>() : new ArrayList<Object>(size);
+    }
 
-        return builder.build();
+    private Object value(Object value) {
+        return values == null ? value : values.canonicalize(value);
     }
 }
@@ -6,12 +6,12 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
-import io.vertx.core.json.JsonArray;
+import de.crunc.jackson.datatype.vertx.generator.JsonElementGenerator;
 import io.vertx.core.json.JsonObject;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
-import java.util.Iterator;
+import java.util.Map;
 
 /**
  * Serializes values of type {@link JsonObject}.
@@ -40,6 +40,17 @@ class JsonObjectSerializer extends JsonBaseSerializer<JsonObject> {
     @Override
     public void serialize(JsonObject value, JsonGenerator jgen, SerializerProvider provider)
             throws IOException {
+        JsonElementGenerator generator = attachingGenerator(jgen, provider);
+        if (generator != null) {
+            generator.writeJsonObject(value);
+            return;
+        }
+        RawJson raw = verbatim(value.getMap(), jgen, provider);
+        if (raw != null) {
+            jgen.writeRawValue(raw);
+            return;
+        }
+
         jgen.writeStartObject();
         serializeContents(value, jgen, provider);
         jgen.writeEndObject();
@@ -63,11 +74,9 @@ class JsonObjectSerializer extends JsonBaseSerializer<JsonObject> {
     protected void serializeContents(JsonObject value, JsonGenerator jgen, SerializerProvider provider)
             throws IOException {
 
-        Iterator<?> it = value.fieldNames().iterator();
-
-        while (it.hasNext()) {
-            String key = (String) it.next();
-            Object ob = value.getValue(key);
+        for (Map.Entry<String, Object> entry : value.getMap().entrySet()) {
+            String key = entry.getKey();
+            Object ob = entry.getValue();
             if (ob == null) {
                 if (provider.isEnabled(SerializationFeature.WRITE_NULL_MAP_VALUES)) {
                     jgen.writeNullField(key);
@@ -75,30 +84,7 @@ class JsonObjectSerializer extends JsonBaseSerializer<JsonObject> {
                 continue;
             }
             jgen.writeFieldName(key);
-            Class<?> cls = ob.getClass();
-            if (cls == JsonObject.class) {
-                serialize((JsonObject) ob, jgen, provider);
-            } else if (cls == JsonArray.class) {
-                JsonArraySerializer.INSTANCE.serialize((JsonArray) ob, jgen, provider);
-            } else if (cls == String.class) {
-                jgen.writeString((String) ob);
-            } else if (cls == Integer.class) {
-                jgen.writeNumber(((Integer) ob).intValue());
-            } else if (cls == Long.class) {
-                jgen.writeNumber(((Long) ob).longValue());
-            } else if (cls == Boolean.class) {
-                jgen.writeBoolean((Boolean) ob);
-            } else if (cls == Double.class) {
-                jgen.writeNumber((Double) ob);
-            } else if (cls == JsonArray.class) {
-                JsonArraySerializer.INSTANCE.serialize((JsonArray) ob, jgen, provider);
-            } else if (JsonObject.class.isAssignableFrom(cls)) { // sub-class
-                serialize((JsonObject) ob, jgen, provider);
-            } else if (JsonArray.class.isAssignableFrom(cls)) { // sub-class
-                JsonArraySerializer.INSTANCE.serialize((JsonArray) ob, jgen, provider);
-            } else {
-                provider.defaultSerializeValue(ob, jgen);
-            }
+            JsonValueKind.of(ob).write(ob, jgen, provider);
         }
     }
 }
@@ -0,0 +1,334 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classifies the values that can be found in a tree of {@link JsonObject} / {@link JsonArray}. The kind of a class is
+ * computed once and cached, so that parser, serializers and generator classify every value with a single lookup
+ * instead of a chain of {@code instanceof} checks.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+public enum JsonValueKind {
+
+    NULL(JsonToken.VALUE_NULL, null) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeNull();
+        }
+    },
+
+    OBJECT(JsonToken.START_OBJECT, null) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            JsonObjectSerializer.INSTANCE.serialize((JsonObject) value, jgen, provider);
+        }
+    },
+
+    ARRAY(JsonToken.START_ARRAY, null) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            JsonArraySerializer.INSTANCE.serialize((JsonArray) value, jgen, provider);
+        }
+    },
+
+    /**
+     * A raw {@link Map} as kept by {@link JsonObject#JsonObject(Map)}. Parsers see it wrapped as {@link JsonObject}.
+     */
+    MAP(JsonToken.VALUE_EMBEDDED_OBJECT, null) {
+        @Override
+        @SuppressWarnings("unchecked")
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            JsonObjectSerializer.INSTANCE.serialize(new JsonObject((Map<String, Object>) value), jgen, provider);
+        }
+    },
+
+    /**
+     * A raw {@link List} as kept by {@link JsonArray#JsonArray(List)}. Parsers see it wrapped as {@link JsonArray}.
+     */
+    LIST(JsonToken.VALUE_EMBEDDED_OBJECT, null) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            JsonArraySerializer.INSTANCE.serialize(new JsonArray((List) value), jgen, provider);
+        }
+    },
+
+    STRING(JsonToken.VALUE_STRING, null) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeString((String) value);
+        }
+    },
+
+    BOOLEAN(JsonToken.VALUE_TRUE, null) {
+        @Override
+        public JsonToken token(Object value) {
+            return ((Boolean) value) ? JsonToken.VALUE_TRUE : JsonToken.VALUE_FALSE;
+        }
+
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeBoolean((Boolean) value);
+        }
+    },
+
+    INT(JsonToken.VALUE_NUMBER_INT, NumberType.INT) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeNumber((Integer) value);
+        }
+    },
+
+    LONG(JsonToken.VALUE_NUMBER_INT, NumberType.LONG) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeNumber((Long) value);
+        }
+    },
+
+    SHORT(JsonToken.VALUE_NUMBER_INT, NumberType.INT) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeNumber((Short) value);
+        }
+    },
+
+    BYTE(JsonToken.VALUE_NUMBER_INT, NumberType.INT) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeNumber((int) (Byte) value);
+        }
+    },
+
+    BIG_INTEGER(JsonToken.VALUE_NUMBER_INT, NumberType.BIG_INTEGER) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeNumber((BigInteger) value);
+        }
+    },
+
+    DOUBLE(JsonToken.VALUE_NUMBER_FLOAT, NumberType.DOUBLE) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeNumber((Double) value);
+        }
+    },
+
+    FLOAT(JsonToken.VALUE_NUMBER_FLOAT, NumberType.FLOAT) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeNumber((Float) value);
+        }
+    },
+
+    BIG_DECIMAL(JsonToken.VALUE_NUMBER_FLOAT, NumberType.BIG_DECIMAL) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeNumber((BigDecimal) value);
+        }
+    },
+
+    /**
+     * Any other {@link Number} (e.g. {@link java.util.concurrent.atomic.AtomicLong}).
+     */
+    OTHER_NUMBER(JsonToken.VALUE_NUMBER_FLOAT, null) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            provider.defaultSerializeValue(value, jgen);
+        }
+    },
+
+    BINARY(JsonToken.VALUE_EMBEDDED_OBJECT, null) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeBinary((byte[]) value);
+        }
+    },
+
+    /**
+     * A Vert.x {@link Buffer}, written from its backing array when it has one.
+     */
+    BUFFER(JsonToken.VALUE_EMBEDDED_OBJECT, null) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            ByteBuf buf = ((Buffer) value).getByteBuf();
+            if (buf.hasArray()) {
+                jgen.writeBinary(buf.array(), buf.arrayOffset() + buf.readerIndex(), buf.readableBytes());
+            } else {
+                jgen.writeBinary(((Buffer) value).getBytes());
+            }
+        }
+    },
+
+    /**
+     * Already encoded {@link RawJson}, written as it is.
+     */
+    RAW(JsonToken.VALUE_EMBEDDED_OBJECT, null) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeRawValue((RawJson) value);
+        }
+    },
+
+    /**
+     * Anything else, written by the serializer the provider finds for its type.
+     */
+    OTHER(JsonToken.VALUE_EMBEDDED_OBJECT, null) {
+        @Override
+        public void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            provider.defaultSerializeValue(value, jgen);
+        }
+    };
+
+    /**
+     * Caches the kind for every class that has been classified so far.
+     */
+    private static final ClassValue<JsonValueKind> KINDS = new ClassValue<JsonValueKind>() {
+        @Override
+        protected JsonValueKind computeValue(Class<?> cls) {
+            return classify(cls);
+        }
+    };
+
+    private final JsonToken token;
+
+    private final NumberType numberType;
+
+    JsonValueKind(JsonToken token, @Nullable NumberType numberType) {
+        this.token = token;
+        this.numberType = numberType;
+    }
+
+    /**
+     * Retrieves the kind of the given value.
+     *
+     * @param value The value that should be classified. Can be {@code null}.
+     * @return The kind of the value, never {@code null}.
+     * @since 3.0
+     */
+    public static JsonValueKind of(@Nullable Object value) {
+        return value == null ? NULL : KINDS.get(value.getClass());
+    }
+
+    /**
+     * Retrieves the token a parser reports for the given value of this kind.
+     *
+     * @param value The value, must be of this kind.
+     * @return The token for the value.
+     * @since 3.0
+     */
+    public JsonToken token(Object value) {
+        return token;
+    }
+
+    /**
+     * Retrieves the number type a parser reports for values of this kind.
+     *
+     * @return The number type or {@code null} if values of this kind are no numbers with a known type.
+     * @since 3.0
+     */
+    @Nullable
+    public NumberType numberType() {
+        return numberType;
+    }
+
+    /**
+     * Indicates whether values of this kind are written without the help of a {@link SerializerProvider}.
+     *
+     * @return {@code true} for scalar values with a dedicated writer.
+     * @since 3.0
+     */
+    public boolean isScalar() {
+        return this != OBJECT && this != ARRAY && this != MAP && this != LIST
+                && this != OTHER_NUMBER && this != OTHER;
+    }
+
+    /**
+     * Indicates whether the given serializer, found for values of this kind, is the default one, i.e. whether it writes
+     * a value just like {@link #write(Object, JsonGenerator, SerializerProvider)} does. This is the case for the
+     * standard serializers of Jackson and the serializers of the {@link VertxJsonModule}, but not for custom
+     * serializers that have been registered for the type of the value.
+     *
+     * @param serializer The serializer found for values of this kind.
+     * @return {@code true} if the value can be written without the serializer.
+     * @since 3.0
+     */
+    public boolean isDefaultSerializer(JsonSerializer<?> serializer) {
+        if (this == BUFFER) {
+            return serializer instanceof BufferSerializer;
+        } else if (this == RAW) {
+            return serializer instanceof RawJsonSerializer;
+        }
+        return ClassUtil.isJacksonStdImpl(serializer);
+    }
+
+    /**
+     * Writes the given value of this kind to the given generator.
+     *
+     * @param value    The value, must be of this kind.
+     * @param jgen     The generator the value is written to.
+     * @param provider Used for nested structures and values without a dedicated writer. May only be {@code null} for
+     *                 {@link #isScalar() scalar} kinds.
+     * @throws IOException If writing fails.
+     * @since 3.0
+     */
+    public abstract void write(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException;
+
+    private static JsonValueKind classify(Class<?> cls) {
+        if (JsonObject.class.isAssignableFrom(cls)) {
+            return OBJECT;
+        } else if (JsonArray.class.isAssignableFrom(cls)) {
+            return ARRAY;
+        } else if (cls == String.class) {
+            return STRING;
+        } else if (cls == Boolean.class) {
+            return BOOLEAN;
+        } else if (cls == Integer.class) {
+            return INT;
+        } else if (cls == Long.class) {
+            return LONG;
+        } else if (cls == Double.class) {
+            return DOUBLE;
+        } else if (cls == Float.class) {
+            return FLOAT;
+        } else if (cls == Short.class) {
+            return SHORT;
+        } else if (cls == Byte.class) {
+            return BYTE;
+        } else if (BigInteger.class.isAssignableFrom(cls)) {
+            return BIG_INTEGER;
+        } else if (BigDecimal.class.isAssignableFrom(cls)) {
+            return BIG_DECIMAL;
+        } else if (Number.class.isAssignableFrom(cls)) {
+            return OTHER_NUMBER;
+        } else if (cls == byte[].class) {
+            return BINARY;
+        } else if (Buffer.class.isAssignableFrom(cls)) {
+            return BUFFER;
+        } else if (cls == RawJson.class) {
+            return RAW;
+        } else if (Map.class.isAssignableFrom(cls)) {
+            return MAP;
+        } else if (List.class.isAssignableFrom(cls)) {
+            return LIST;
+        }
+        return OTHER;
+    }
+}
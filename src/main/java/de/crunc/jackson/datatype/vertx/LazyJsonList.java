@@ -0,0 +1,150 @@
+package de.crunc.jackson.datatype.vertx;
+
+import io.vertx.core.json.JsonArray;
+
+import javax.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+/**
+ * Backing list of a lazily read {@link JsonArray}. The elements are read from the encoded array when the list is
+ * accessed for the first time; until then the array can be written verbatim.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @see LazyJsonReader
+ * @since 3.0
+ */
+final class LazyJsonList extends AbstractList<Object> implements RandomAccess {
+
+    private final LazyJsonReader reader;
+
+    /**
+     * The encoded array, {@code null} once it has been read.
+     */
+    @Nullable
+    private volatile byte[] bytes;
+
+    private final int offset;
+
+    private final int length;
+
+    /**
+     * The elements, {@code null} until they have been read. Read at most once, even if the array is first accessed by
+     * several threads at the same time.
+     */
+    @Nullable
+    private volatile List<Object> list;
+
+    LazyJsonList(LazyJsonReader reader, byte[] bytes, int offset, int length) {
+        this.reader = reader;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Retrieves the encoded array if it has not been accessed yet.
+     *
+     * @return The encoded array or {@code null} if the elements have been read.
+     * @since 3.0
+     */
+    @Nullable
+    RawJson untouched() {
+        byte[] encoded = bytes;
+        return encoded != null ? RawJson.of(encoded, offset, length) : null;
+    }
+
+    private List<Object> list() {
+        List<Object> result = list;
+        if (result == null) {
+            synchronized (this) {
+                result = list;
+                if (result == null) {
+                    result = reader.readArray(bytes, offset, length);
+                    list = result;
+                    bytes = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Object get(int index) {
+        return list().get(index);
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        return list().set(index, element);
+    }
+
+    @Override
+    public boolean add(Object element) {
+        return list().add(element);
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        list().add(index, element);
+    }
+
+    @Override
+    public Object remove(int index) {
+        return list().remove(index);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return list().remove(o);
+    }
+
+    @Override
+    public boolean addAll(Collection<?> c) {
+        return list().addAll(c);
+    }
+
+    @Override
+    public void clear() {
+        list().clear();
+    }
+
+    @Override
+    public int size() {
+        return list().size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return list().contains(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return list().indexOf(o);
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return list().iterator();
+    }
+
+    @Override
+    public ListIterator<Object> listIterator(int index) {
+        return list().listIterator(index);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || list().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return list().hashCode();
+    }
+}
@@ -0,0 +1,143 @@
+package de.crunc.jackson.datatype.vertx;
+
+import io.vertx.core.json.JsonObject;
+
+import javax.annotation.Nullable;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Backing map of a lazily read {@link JsonObject}. The fields are read from the encoded object when the map is
+ * accessed for the first time; until then the object can be written verbatim.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @see LazyJsonReader
+ * @since 3.0
+ */
+final class LazyJsonMap extends AbstractMap<String, Object> {
+
+    private final LazyJsonReader reader;
+
+    /**
+     * The encoded object, {@code null} once it has been read.
+     */
+    @Nullable
+    private volatile byte[] bytes;
+
+    private final int offset;
+
+    private final int length;
+
+    /**
+     * The fields, {@code null} until they have been read. Read at most once, even if the object is first accessed by
+     * several threads at the same time.
+     */
+    @Nullable
+    private volatile Map<String, Object> map;
+
+    LazyJsonMap(LazyJsonReader reader, byte[] bytes, int offset, int length) {
+        this.reader = reader;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Retrieves the encoded object if it has not been accessed yet.
+     *
+     * @return The encoded object or {@code null} if the fields have been read.
+     * @since 3.0
+     */
+    @Nullable
+    RawJson untouched() {
+        byte[] encoded = bytes;
+        return encoded != null ? RawJson.of(encoded, offset, length) : null;
+    }
+
+    private Map<String, Object> map() {
+        Map<String, Object> result = map;
+        if (result == null) {
+            synchronized (this) {
+                result = map;
+                if (result == null) {
+                    result = reader.readObject(bytes, offset, length);
+                    map = result;
+                    bytes = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return map().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map().isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map().containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return map().containsValue(value);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return map().get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return map().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return map().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        map().putAll(m);
+    }
+
+    @Override
+    public void clear() {
+        map().clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return map().keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return map().values();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return map().entrySet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || map().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return map().hashCode();
+    }
+}
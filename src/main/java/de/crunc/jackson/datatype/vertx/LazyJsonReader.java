@@ -0,0 +1,259 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Produces {@link JsonObject}s and {@link JsonArray}s that keep their UTF-8 encoding and read it only when their
+ * contents are accessed for the first time. Each level is read on its own: reading an object creates its scalar
+ * values, while nested objects and arrays are again kept encoded until they are accessed.
+ * <p>
+ * A parser does not expose the bytes it reads, so the encoded form can not be sliced out of the original input.
+ * Capturing re-encodes the object or array instead: its tokens are copied into a new buffer through a second
+ * {@link JsonGenerator}, which costs a pass over the document and a copy of its bytes. No values are created on the
+ * way, and numbers are copied by their text.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @see LazyJsonMap
+ * @see LazyJsonList
+ * @since 3.0
+ */
+final class LazyJsonReader implements Serializable {
+
+    /**
+     * @see Serializable
+     */
+    private static final long serialVersionUID = -6420913185930237764L;
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final NumberPolicy numberPolicy;
+
+    @Nullable
+    private final FieldNameTable fieldNames;
+
+    @Nullable
+    private final ValueCache values;
+
+    private final JsonLimits limits;
+
+    /**
+     * Whether numbers with a fraction are read as decimals, see
+     * {@link DeserializationFeature#USE_BIG_DECIMAL_FOR_FLOATS}.
+     */
+    private final boolean bigDecimals;
+
+    /**
+     * Reads like this reader, but with the opposite setting for decimals.
+     */
+    private final LazyJsonReader sibling;
+
+    /**
+     * Creates a new reader which represents values like {@link JsonObjectDeserializer} does.
+     *
+     * @param numberPolicy The policy for big numbers.
+     * @param fieldNames   The table field names are taken from. Can be {@code null}.
+     * @param values       The cache strings and numbers are taken from. Can be {@code null}.
+     * @param limits       The limits for the documents that are captured.
+     * @since 3.0
+     */
+    LazyJsonReader(NumberPolicy numberPolicy, @Nullable FieldNameTable fieldNames, @Nullable ValueCache values,
+                   JsonLimits limits) {
+        this(numberPolicy, fieldNames, values, limits, false, null);
+    }
+
+    private LazyJsonReader(NumberPolicy numberPolicy, @Nullable FieldNameTable fieldNames, @Nullable ValueCache values,
+                           JsonLimits limits, boolean bigDecimals, @Nullable LazyJsonReader sibling) {
+        this.numberPolicy = numberPolicy;
+        this.fieldNames = fieldNames;
+        this.values = values;
+        this.limits = limits;
+        this.bigDecimals = bigDecimals;
+        this.sibling = sibling != null
+                ? sibling
+                : new LazyJsonReader(numberPolicy, fieldNames, values, limits, !bigDecimals, this);
+    }
+
+    /**
+     * Encodes the object or array the given parser is positioned at, without creating any of its values. Numbers
+     * with a fraction are read as decimals later on if the given context has
+     * {@link DeserializationFeature#USE_BIG_DECIMAL_FOR_FLOATS} enabled.
+     *
+     * @param jp   The parser, positioned at {@link JsonToken#START_OBJECT} or {@link JsonToken#START_ARRAY}.
+     * @param ctxt The context the object or array is read in.
+     * @return A {@link JsonObject} or {@link JsonArray} that is read once it is accessed.
+     * @throws IOException If the object or array can not be read or exceeds the limits.
+     * @since 3.0
+     */
+    Object capture(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        ByteArrayBuilder bytes = new ByteArrayBuilder();
+        JsonGenerator generator = FACTORY.createGenerator(bytes);
+        try {
+            copy(jp, generator);
+        } finally {
+            generator.close();
+        }
+        byte[] encoded = bytes.toByteArray();
+        LazyJsonReader reader = ctxt.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS) == bigDecimals
+                ? this
+                : sibling;
+        return reader.lazy(jp.getCurrentToken() == JsonToken.END_OBJECT, encoded, 0, encoded.length);
+    }
+
+    /**
+     * Like {@link JsonGenerator#copyCurrentStructure(JsonParser)}, but numbers are copied by their text instead of
+     * being parsed and formatted again, and the limits are enforced like {@link JsonObjectDeserializer} does.
+     */
+    private void copy(JsonParser jp, JsonGenerator generator) throws IOException {
+        int[] entries = new int[8];
+        int depth = 0;
+        long nodes = 0;
+        JsonToken t = jp.getCurrentToken();
+        do {
+            if (t == JsonToken.END_OBJECT || t == JsonToken.END_ARRAY) {
+                generator.copyCurrentEvent(jp);
+                --depth;
+                continue;
+            } else if (t == JsonToken.FIELD_NAME) {
+                limits.checkLength(jp);
+                generator.writeFieldName(jp.getCurrentName());
+                continue;
+            }
+
+            if (depth > 0) {
+                limits.checkEntries(jp, ++entries[depth - 1]);
+            }
+            limits.checkNodes(jp, ++nodes);
+            switch (t) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    limits.checkDepth(jp, depth + 1);
+                    generator.copyCurrentEvent(jp);
+                    if (depth == entries.length) {
+                        entries = Arrays.copyOf(entries, depth * 2);
+                    }
+                    entries[depth++] = 0;
+                    break;
+                case VALUE_STRING:
+                    limits.checkLength(jp);
+                    generator.writeString(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength());
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    limits.checkLength(jp);
+                    generator.writeNumber(jp.getText());
+                    break;
+                default:
+                    generator.copyCurrentEvent(jp);
+                    break;
+            }
+        } while (depth > 0 && (t = jp.nextToken()) != null);
+    }
+
+    /**
+     * Reads the fields of the encoded object in the given range.
+     *
+     * @since 3.0
+     */
+    Map<String, Object> readObject(byte[] bytes, int offset, int length) {
+        try (JsonParser jp = FACTORY.createParser(bytes, offset, length)) {
+            jp.nextToken();
+            Map<String, Object> map = new LinkedHashMap<String, Object>();
+            while (jp.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = jp.getCurrentName();
+                if (fieldNames != null) {
+                    fieldName = fieldNames.canonicalize(fieldName);
+                }
+                map.put(fieldName, readValue(jp, jp.nextToken(), bytes, offset));
+            }
+            return map;
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Reads the elements of the encoded array in the given range.
+     *
+     * @since 3.0
+     */
+    List<Object> readArray(byte[] bytes, int offset, int length) {
+        try (JsonParser jp = FACTORY.createParser(bytes, offset, length)) {
+            jp.nextToken();
+            List<Object> list = new ArrayList<Object>();
+            JsonToken t;
+            while ((t = jp.nextToken()) != JsonToken.END_ARRAY) {
+                list.add(readValue(jp, t, bytes, offset));
+            }
+            return list;
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Nested objects and arrays are located by the parser's byte offsets, which are relative to the start of the
+     * parsed range; the parser reports the offset behind the current token, i.e. behind the opening and the closing
+     * bracket.
+     */
+    @Nullable
+    private Object readValue(JsonParser jp, JsonToken t, byte[] bytes, int offset) throws IOException {
+        switch (t) {
+            case START_OBJECT:
+            case START_ARRAY:
+                int start = offset + (int) jp.getCurrentLocation().getByteOffset() - 1;
+                jp.skipChildren();
+                int end = offset + (int) jp.getCurrentLocation().getByteOffset();
+                return lazy(t == JsonToken.START_OBJECT, bytes, start, end - start);
+            case VALUE_STRING:
+                return values == null ? jp.getText() : values.canonicalize(jp.getText());
+            case VALUE_NUMBER_INT:
+                return values == null ? numberPolicy.read(jp) : values.canonicalize(numberPolicy.read(jp));
+            case VALUE_NUMBER_FLOAT:
+                Object number = bigDecimals ? numberPolicy.applyEncoded(jp.getText()) : numberPolicy.read(jp);
+                return values == null ? number : values.canonicalize(number);
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new DecodeException("Unexpected token " + t);
+        }
+    }
+
+    /**
+     * Reports the given failure of the parser as {@link DecodeException} like Vert.x does, but keeps the failure and
+     * its location as cause.
+     */
+    private static DecodeException failure(IOException e) {
+        DecodeException failure = new DecodeException("Failed to decode:" + e.getMessage());
+        failure.initCause(e);
+        return failure;
+    }
+
+    private Object lazy(boolean object, byte[] bytes, int offset, int length) {
+        if (object) {
+            return new JsonObject(new LazyJsonMap(this, bytes, offset, length));
+        }
+        return new JsonArray(new LazyJsonList(this, bytes, offset, length));
+    }
+}
@@ -0,0 +1,225 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Decides how numbers that do not fit a primitive by their type, i.e. {@link BigInteger}, {@link BigDecimal} and
+ * numbers that are only available in encoded form, are represented in a tree of {@link JsonObject} /
+ * {@link JsonArray}. Numbers of primitive types are always kept as they are.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+public enum NumberPolicy {
+
+    /**
+     * Keeps big numbers as they are and represents encoded numbers as {@link BigDecimal}. Vert.x does not accept
+     * {@link BigDecimal} values, so a tree holding one can not be copied with {@link JsonObject#copy()} or
+     * {@link JsonArray#copy()}, which also rules out sending it over the event bus. Use {@link #STRING} for trees that
+     * are copied or sent.
+     */
+    EXACT {
+        @Override
+        public Object apply(BigInteger number) {
+            return number;
+        }
+
+        @Override
+        public Object apply(BigDecimal number) {
+            return number;
+        }
+
+        @Override
+        public Object applyEncoded(String encoded) {
+            return new BigDecimal(encoded);
+        }
+    },
+
+    /**
+     * Represents numbers as {@link Integer}, {@link Long} or {@link Double} if that is possible without loss, and keeps
+     * them exact otherwise. Integral numbers are narrowed if they fit a {@code long}; numbers with a fraction are
+     * narrowed if they have at most 15 significant digits, so that the {@code double} reads back as the same decimal.
+     * Decimals which are kept exact have the same restriction as for {@link #EXACT}.
+     */
+    NARROW {
+        @Override
+        public Object apply(BigInteger number) {
+            int bits = number.bitLength();
+            if (bits < 32) {
+                return number.intValue();
+            } else if (bits < 64) {
+                return number.longValue();
+            }
+            return number;
+        }
+
+        @Override
+        public Object apply(BigDecimal number) {
+            int scale = number.scale();
+            if (scale <= 0) {
+                if (number.precision() - scale <= MAX_LONG_DIGITS) {
+                    return narrow(number.longValue());
+                }
+            } else if (scale < POWERS_OF_TEN.length && number.precision() <= MAX_DOUBLE_DIGITS) {
+                // both operands are exact doubles, so the quotient is the double closest to the decimal
+                return (double) number.scaleByPowerOfTen(scale).longValue() / POWERS_OF_TEN[scale];
+            }
+            return number;
+        }
+
+        @Override
+        public Object applyEncoded(String encoded) {
+            int start = encoded.startsWith("-") ? 1 : 0;
+            int length = encoded.length();
+            if (length > start && length - start <= MAX_LONG_DIGITS && isDigits(encoded, start)) {
+                return narrow(Long.parseLong(encoded));
+            }
+            return apply(new BigDecimal(encoded));
+        }
+    },
+
+    /**
+     * Represents big and encoded numbers by their decimal text, so that they need neither be parsed nor formatted
+     * again. The tree then holds a {@link String} where a number was written.
+     */
+    STRING {
+        @Override
+        public Object apply(BigInteger number) {
+            return number.toString();
+        }
+
+        @Override
+        public Object apply(BigDecimal number) {
+            return number.toString();
+        }
+
+        @Override
+        public Object applyEncoded(String encoded) {
+            return encoded;
+        }
+
+        @Override
+        public Object read(JsonParser jp) throws IOException {
+            NumberType type = jp.getNumberType();
+            if (type == NumberType.BIG_INTEGER || type == NumberType.BIG_DECIMAL) {
+                return jp.getText();
+            }
+            return jp.getNumberValue();
+        }
+    };
+
+    /**
+     * Any number with this many decimal digits fits a {@code long}.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * Any decimal with this many significant digits is read back unchanged from the closest {@code double}.
+     */
+    private static final int MAX_DOUBLE_DIGITS = 15;
+
+    /**
+     * The powers of ten which can be represented exactly as {@code double}.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Retrieves the representation of the given integer.
+     *
+     * @param number The integer. Must not be {@code null}.
+     * @return A {@link Number} or, for {@link #STRING}, a {@link String}.
+     * @since 3.0
+     */
+    public abstract Object apply(BigInteger number);
+
+    /**
+     * Retrieves the representation of the given decimal.
+     *
+     * @param number The decimal. Must not be {@code null}.
+     * @return A {@link Number} or, for {@link #STRING}, a {@link String}.
+     * @since 3.0
+     */
+    public abstract Object apply(BigDecimal number);
+
+    /**
+     * Retrieves the representation of the given encoded number.
+     *
+     * @param encoded The encoded number, e.g. {@code "-1.5e3"}. Must not be {@code null}.
+     * @return A {@link Number} or, for {@link #STRING}, a {@link String}.
+     * @throws NumberFormatException If the given string is no valid number.
+     * @since 3.0
+     */
+    public abstract Object applyEncoded(String encoded);
+
+    /**
+     * Reads the number the given parser is positioned at.
+     *
+     * @param jp The parser, positioned at a number token.
+     * @return A {@link Number} or, for {@link #STRING}, a {@link String}.
+     * @throws IOException If the number can not be read.
+     * @since 3.0
+     */
+    public Object read(JsonParser jp) throws IOException {
+        NumberType type = jp.getNumberType();
+        if (type == NumberType.BIG_INTEGER) {
+            return apply(jp.getBigIntegerValue());
+        } else if (type == NumberType.BIG_DECIMAL) {
+            return apply(jp.getDecimalValue());
+        }
+        return jp.getNumberValue();
+    }
+
+    /**
+     * Reads the number the given parser is positioned at like {@link #read(JsonParser)} does. If the given context has
+     * {@link DeserializationFeature#USE_BIG_DECIMAL_FOR_FLOATS} enabled, numbers with a fraction or an exponent are
+     * taken as decimals instead of {@code double}s, i.e. they are represented like {@link #applyEncoded(String)} does.
+     * {@code NaN} and infinite numbers have no decimal form and stay {@code double}s.
+     *
+     * @param jp   The parser, positioned at a number token.
+     * @param ctxt The context the number is read in.
+     * @return A {@link Number} or, for {@link #STRING}, a {@link String}.
+     * @throws IOException If the number can not be read.
+     * @since 3.0
+     */
+    public Object read(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        if (jp.getCurrentToken() == JsonToken.VALUE_NUMBER_FLOAT
+                && jp.getNumberType() != NumberType.BIG_DECIMAL
+                && ctxt.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+            String text = jp.getText();
+            if (Character.isDigit(text.charAt(text.length() - 1))) {
+                return applyEncoded(text);
+            }
+        }
+        return read(jp);
+    }
+
+    private static Number narrow(long number) {
+        if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+            return (int) number;
+        }
+        return number;
+    }
+
+    private static boolean isDigits(String text, int start) {
+        for (int i = start, len = text.length(); i < len; ++i) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
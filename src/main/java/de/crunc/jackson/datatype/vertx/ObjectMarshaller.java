@@ -1,18 +1,36 @@
 package de.crunc.jackson.datatype.vertx;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import de.crunc.jackson.datatype.vertx.generator.JsonElementGenerator;
 import de.crunc.jackson.datatype.vertx.parser.JsonElementParser;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 
 /**
  * Provides operations that help using {@link ObjectMapper} to convert between object instances and {@link JsonObject}
- * / {@link JsonArray}.
+ * / {@link JsonArray} or encoded JSON in a {@link Buffer}.
  *
  * @author Hauke Jaeger, hauke.jaeger@googlemail.com
  * @since 2.1
@@ -24,6 +42,38 @@ public class ObjectMarshaller {
      */
     private final ObjectMapper om;
 
+    /**
+     * Holds one idle parser per thread if pooling is enabled, {@code null} otherwise. A parser is taken out of its slot
+     * while in use, so nested (un-)marshalling on the same thread never shares a parser.
+     */
+    private final ThreadLocal<JsonElementParser> parsers;
+
+    /**
+     * Holds one idle generator per thread if pooling is enabled, {@code null} otherwise. Like parsers, a generator is
+     * taken out of its slot while in use.
+     */
+    private final ThreadLocal<JsonElementGenerator> generators;
+
+    /**
+     * How big numbers are represented in marshalled trees.
+     */
+    private final NumberPolicy numberPolicy;
+
+    /**
+     * The table field names of marshalled trees are taken from, {@code null} if field names are stored as they are.
+     */
+    private final FieldNameTable fieldNames;
+
+    /**
+     * The cache values of marshalled trees are taken from, {@code null} if values are stored as they are.
+     */
+    private final ValueCache values;
+
+    /**
+     * Readers for element-wise unmarshalling, cached per element type.
+     */
+    private final ConcurrentMap<JavaType, ObjectReader> readers = new ConcurrentHashMap<JavaType, ObjectReader>();
+
     /**
      * The object mapper which is used by this marshaller.
      *  
@@ -42,11 +92,88 @@ public class ObjectMarshaller {
      * @since 2.1
      */
     public ObjectMarshaller(ObjectMapper objectMapper) {
+        this(objectMapper, false);
+    }
+
+    /**
+     * Creates a new marshaller that uses the given object mapper for (un-)marshalling.
+     * <p>
+     * If {@code pooled} is {@code true} the marshaller keeps one {@link JsonElementParser} and one
+     * {@link JsonElementGenerator} per thread and resets them for every call instead of creating new ones. Since a
+     * Vert.x context is always bound to a single thread at a time this also gives one parser and generator per context.
+     *
+     * @param objectMapper The object mapper that will be used.
+     * @param pooled       Whether parsers and generators should be reused per thread.
+     * @throws IllegalArgumentException If the given objectMapper is {@code null}.
+     * @since 3.0
+     */
+    public ObjectMarshaller(ObjectMapper objectMapper, boolean pooled) {
+        this(objectMapper, pooled, NumberPolicy.EXACT);
+    }
+
+    /**
+     * Creates a new marshaller that uses the given object mapper for (un-)marshalling and represents big numbers in
+     * marshalled trees according to the given policy. Pooling works like described for
+     * {@link #ObjectMarshaller(ObjectMapper, boolean)}.
+     *
+     * @param objectMapper The object mapper that will be used.
+     * @param pooled       Whether parsers and generators should be reused per thread.
+     * @param numberPolicy The policy for big numbers in marshalled trees.
+     * @throws IllegalArgumentException If the given objectMapper or numberPolicy is {@code null}.
+     * @see VertxJsonModule#configureNumberPolicy(NumberPolicy)
+     * @since 3.0
+     */
+    public ObjectMarshaller(ObjectMapper objectMapper, boolean pooled, NumberPolicy numberPolicy) {
+        this(objectMapper, pooled, numberPolicy, null);
+    }
+
+    /**
+     * Creates a new marshaller that uses the given object mapper for (un-)marshalling, represents big numbers in
+     * marshalled trees according to the given policy and takes the field names of marshalled trees from the given
+     * table. Pooling works like described for {@link #ObjectMarshaller(ObjectMapper, boolean)}.
+     *
+     * @param objectMapper The object mapper that will be used.
+     * @param pooled       Whether parsers and generators should be reused per thread.
+     * @param numberPolicy The policy for big numbers in marshalled trees.
+     * @param fieldNames   The table field names of marshalled trees are taken from. Can be {@code null}.
+     * @throws IllegalArgumentException If the given objectMapper or numberPolicy is {@code null}.
+     * @see VertxJsonModule#configureFieldNameTable(FieldNameTable)
+     * @since 3.0
+     */
+    public ObjectMarshaller(ObjectMapper objectMapper, boolean pooled, NumberPolicy numberPolicy,
+                            @Nullable FieldNameTable fieldNames) {
+        this(objectMapper, pooled, numberPolicy, fieldNames, null);
+    }
+
+    /**
+     * Creates a new marshaller that uses the given object mapper for (un-)marshalling, represents big numbers in
+     * marshalled trees according to the given policy and takes the field names and values of marshalled trees from
+     * the given table and cache. Pooling works like described for {@link #ObjectMarshaller(ObjectMapper, boolean)}.
+     *
+     * @param objectMapper The object mapper that will be used.
+     * @param pooled       Whether parsers and generators should be reused per thread.
+     * @param numberPolicy The policy for big numbers in marshalled trees.
+     * @param fieldNames   The table field names of marshalled trees are taken from. Can be {@code null}.
+     * @param values       The cache strings and numbers of marshalled trees are taken from. Can be {@code null}.
+     * @throws IllegalArgumentException If the given objectMapper or numberPolicy is {@code null}.
+     * @see VertxJsonModule#configureValueCache(ValueCache)
+     * @since 3.0
+     */
+    public ObjectMarshaller(ObjectMapper objectMapper, boolean pooled, NumberPolicy numberPolicy,
+                            @Nullable FieldNameTable fieldNames, @Nullable ValueCache values) {
         if (objectMapper == null) {
             throw new IllegalArgumentException("objectMapper must not be null");
         }
+        if (numberPolicy == null) {
+            throw new IllegalArgumentException("numberPolicy must not be null");
+        }
 
         om = objectMapper;
+        parsers = pooled ? new ThreadLocal<JsonElementParser>() : null;
+        generators = pooled ? new ThreadLocal<JsonElementGenerator>() : null;
+        this.numberPolicy = numberPolicy;
+        this.fieldNames = fieldNames;
+        this.values = values;
     }
 
     /**
@@ -60,7 +187,7 @@ public class ObjectMarshaller {
      * @since 2.1
      */
     public <T> T unmarshall(JsonObject jsonObject, Class<T> type) throws IOException {
-        return om.readValue(new JsonElementParser(jsonObject), type);
+        return read(jsonObject, type);
     }
 
     /**
@@ -74,7 +201,7 @@ public class ObjectMarshaller {
      * @since 2.1
      */
     public <T> T unmarshall(JsonArray jsonArray, Class<T> type) throws IOException {
-        return om.readValue(new JsonElementParser(jsonArray), type);
+        return read(jsonArray, type);
     }
 
     /**
@@ -88,7 +215,7 @@ public class ObjectMarshaller {
      * @since 2.1
      */
     public <T> T unmarshall(JsonObject jsonObject, TypeReference<T> type) throws IOException {
-        return om.readValue(new JsonElementParser(jsonObject), type);
+        return read(jsonObject, type);
     }
 
 
@@ -103,7 +230,7 @@ public class ObjectMarshaller {
      * @since 2.1
      */
     public <T> T unmarshall(JsonArray jsonObject, TypeReference<T> type) throws IOException {
-        return om.readValue(new JsonElementParser(jsonObject), type);
+        return read(jsonObject, type);
     }
 
     /**
@@ -117,7 +244,7 @@ public class ObjectMarshaller {
      * @since 2.1
      */
     public <T> T unmarshall(JsonObject jsonObject, JavaType type) throws IOException {
-        return om.readValue(new JsonElementParser(jsonObject), type);
+        return read(jsonObject, type);
     }
 
     /**
@@ -131,7 +258,140 @@ public class ObjectMarshaller {
      * @since 2.1
      */
     public <T> T unmarshall(JsonArray jsonArray, JavaType type) throws IOException {
-        return om.readValue(new JsonElementParser(jsonArray), type);
+        return read(jsonArray, type);
+    }
+
+    /**
+     * Unmarshalls the element at the given path of the given element to an instance of the given type. Only the
+     * element at the path is visited, the rest of the tree is never tokenized.
+     *
+     * @param jsonObject The element that contains the element that will be unmarshalled.
+     * @param path       The path of the element that will be unmarshalled.
+     * @param type       The type of the instance that will be created.
+     * @param <T>        The type of the instance that will be created.
+     * @return A new instance of the given type or {@code null} if there is no element at the given path.
+     * @throws IOException If unmarshalling fails.
+     * @since 3.0
+     */
+    public <T> T unmarshall(JsonObject jsonObject, JsonPointer path, Class<T> type) throws IOException {
+        return unmarshall(jsonObject, path, om.getTypeFactory().constructType(type));
+    }
+
+    /**
+     * Unmarshalls the element at the given path of the given element to an instance of the given type. Only the
+     * element at the path is visited, the rest of the tree is never tokenized.
+     *
+     * @param jsonObject The element that contains the element that will be unmarshalled.
+     * @param path       The path of the element that will be unmarshalled.
+     * @param type       The type of the instance that will be created.
+     * @param <T>        The type of the instance that will be created.
+     * @return A new instance of the given type or {@code null} if there is no element at the given path.
+     * @throws IOException If unmarshalling fails.
+     * @since 3.0
+     */
+    public <T> T unmarshall(JsonObject jsonObject, JsonPointer path, TypeReference<T> type) throws IOException {
+        return unmarshall(jsonObject, path, om.getTypeFactory().constructType(type));
+    }
+
+    /**
+     * Unmarshalls the element at the given path of the given element to an instance of the given type. Only the
+     * element at the path is visited, the rest of the tree is never tokenized.
+     *
+     * @param jsonObject The element that contains the element that will be unmarshalled.
+     * @param path       The path of the element that will be unmarshalled.
+     * @param type       The type of the instance that will be created.
+     * @param <T>        The type of the instance that will be created.
+     * @return A new instance of the given type or {@code null} if there is no element at the given path.
+     * @throws IOException If unmarshalling fails.
+     * @since 3.0
+     */
+    public <T> T unmarshall(JsonObject jsonObject, JsonPointer path, JavaType type) throws IOException {
+        JsonElementParser jp = acquireParser(jsonObject);
+        try {
+            return readAt(jp, jsonObject, path, type);
+        } finally {
+            releaseParser(jp);
+        }
+    }
+
+    /**
+     * Unmarshalls the JSON in the given buffer to an instance of the given type. The buffer is read in place, without
+     * being copied.
+     *
+     * @param buffer The buffer which contains UTF-8 encoded JSON.
+     * @param type   The type of the instance that will be created.
+     * @param <T>    The type of the instance that will be created.
+     * @return A new instance of the given type.
+     * @throws IOException If unmarshalling fails.
+     * @since 3.0
+     */
+    public <T> T unmarshallFrom(Buffer buffer, Class<T> type) throws IOException {
+        try (JsonParser jp = createParser(buffer)) {
+            return om.readValue(jp, type);
+        }
+    }
+
+    /**
+     * Unmarshalls the JSON in the given buffer to an instance of the given type. The buffer is read in place, without
+     * being copied.
+     *
+     * @param buffer The buffer which contains UTF-8 encoded JSON.
+     * @param type   The type of the instance that will be created.
+     * @param <T>    The type of the instance that will be created.
+     * @return A new instance of the given type.
+     * @throws IOException If unmarshalling fails.
+     * @since 3.0
+     */
+    public <T> T unmarshallFrom(Buffer buffer, TypeReference<T> type) throws IOException {
+        try (JsonParser jp = createParser(buffer)) {
+            return om.readValue(jp, type);
+        }
+    }
+
+    /**
+     * Unmarshalls the JSON in the given buffer to an instance of the given type. The buffer is read in place, without
+     * being copied.
+     *
+     * @param buffer The buffer which contains UTF-8 encoded JSON.
+     * @param type   The type of the instance that will be created.
+     * @param <T>    The type of the instance that will be created.
+     * @return A new instance of the given type.
+     * @throws IOException If unmarshalling fails.
+     * @since 3.0
+     */
+    public <T> T unmarshallFrom(Buffer buffer, JavaType type) throws IOException {
+        try (JsonParser jp = createParser(buffer)) {
+            return om.readValue(jp, type);
+        }
+    }
+
+    /**
+     * Unmarshalls the elements at the given paths of the given element to instances of the types the paths are mapped
+     * to. All paths are resolved against the same element using a single parser and only the elements at the paths are
+     * visited.
+     *
+     * @param jsonObject The element that contains the elements that will be unmarshalled.
+     * @param targets    The paths of the elements that will be unmarshalled, mapped to the types of the instances
+     *                   that will be created.
+     * @return The created instances mapped by their paths, in the iteration order of the given targets. Paths that do
+     * not exist are mapped to {@code null}.
+     * @throws IOException If unmarshalling fails.
+     * @since 3.0
+     */
+    public Map<JsonPointer, Object> unmarshall(JsonObject jsonObject, Map<JsonPointer, JavaType> targets)
+            throws IOException {
+        Map<JsonPointer, Object> result = new LinkedHashMap<JsonPointer, Object>();
+
+        JsonElementParser jp = acquireParser(jsonObject);
+        try {
+            for (Map.Entry<JsonPointer, JavaType> target : targets.entrySet()) {
+                result.put(target.getKey(), readAt(jp, jsonObject, target.getKey(), target.getValue()));
+            }
+        } finally {
+            releaseParser(jp);
+        }
+
+        return result;
     }
 
     /**
@@ -218,6 +478,76 @@ public class ObjectMarshaller {
         return unmarshall(builder.build(), type);
     }
 
+    /**
+     * Unmarshalls every item of the given array to an instance of the given type and hands it to the given consumer as
+     * soon as it has been created. Unlike unmarshalling to a {@link java.util.List} only one item is held at a time.
+     *
+     * @param jsonArray The array that's items will be unmarshalled.
+     * @param type      The type of the instances that will be created.
+     * @param consumer  Receives the instances in the order of the items. Receives {@code null} for {@code null} items.
+     * @param <T>       The type of the instances that will be created.
+     * @throws IOException If unmarshalling fails.
+     * @since 3.0
+     */
+    public <T> void unmarshallEach(JsonArray jsonArray, Class<T> type, Consumer<? super T> consumer)
+            throws IOException {
+        unmarshallEach(jsonArray, om.getTypeFactory().constructType(type), consumer);
+    }
+
+    /**
+     * Unmarshalls every item of the given array to an instance of the given type and hands it to the given consumer as
+     * soon as it has been created. Unlike unmarshalling to a {@link java.util.List} only one item is held at a time.
+     *
+     * @param jsonArray The array that's items will be unmarshalled.
+     * @param type      The type of the instances that will be created.
+     * @param consumer  Receives the instances in the order of the items. Receives {@code null} for {@code null} items.
+     * @param <T>       The type of the instances that will be created.
+     * @throws IOException If unmarshalling fails.
+     * @since 3.0
+     */
+    public <T> void unmarshallEach(JsonArray jsonArray, JavaType type, Consumer<? super T> consumer)
+            throws IOException {
+        ObjectReader reader = reader(type);
+        JsonElementParser jp = acquireParser(jsonArray);
+        try {
+            for (int i = 0, len = jsonArray.size(); i < len; ++i) {
+                consumer.accept(this.<T>readItem(jp, reader, jsonArray.getValue(i)));
+            }
+        } finally {
+            releaseParser(jp);
+        }
+    }
+
+    /**
+     * Creates an iterator that lazily unmarshalls the items of the given array to instances of the given type. Each
+     * item is unmarshalled when it is requested by {@link Iterator#next()}; failures are reported as
+     * {@link RuntimeJsonMappingException}.
+     *
+     * @param jsonArray The array that's items will be unmarshalled.
+     * @param type      The type of the instances that will be created.
+     * @param <T>       The type of the instances that will be created.
+     * @return A new iterator.
+     * @since 3.0
+     */
+    public <T> Iterator<T> unmarshallIterator(JsonArray jsonArray, Class<T> type) {
+        return unmarshallIterator(jsonArray, om.getTypeFactory().constructType(type));
+    }
+
+    /**
+     * Creates an iterator that lazily unmarshalls the items of the given array to instances of the given type. Each
+     * item is unmarshalled when it is requested by {@link Iterator#next()}; failures are reported as
+     * {@link RuntimeJsonMappingException}.
+     *
+     * @param jsonArray The array that's items will be unmarshalled.
+     * @param type      The type of the instances that will be created.
+     * @param <T>       The type of the instances that will be created.
+     * @return A new iterator.
+     * @since 3.0
+     */
+    public <T> Iterator<T> unmarshallIterator(JsonArray jsonArray, JavaType type) {
+        return new ItemIterator<T>(jsonArray, reader(type));
+    }
+
     /**
      * Marshalls the given instance to a {@link JsonObject}.
      *
@@ -229,8 +559,243 @@ public class ObjectMarshaller {
      */
     @SuppressWarnings("unchecked")
     public <T extends JsonObject> T marshall(Object instance) throws IOException {
-        JsonElementGenerator jgen = new JsonElementGenerator(0, om);
-        om.writeValue(jgen, instance);
-        return (T) jgen.get();
+        JsonElementGenerator jgen = acquireGenerator();
+        try {
+            om.writeValue(jgen, instance);
+            return (T) jgen.get();
+        } finally {
+            releaseGenerator(jgen);
+        }
+    }
+
+    /**
+     * Marshalls the given instance to UTF-8 encoded JSON in a new {@link Buffer}. The JSON is written straight into the
+     * buffer, without an intermediate tree or string.
+     *
+     * @param instance The instance that will be marshalled.
+     * @return A new buffer which contains the JSON.
+     * @throws IOException If marshalling fails.
+     * @since 3.0
+     */
+    public Buffer marshallToBuffer(Object instance) throws IOException {
+        return marshallTo(instance, Buffer.buffer());
+    }
+
+    /**
+     * Marshalls the given instance to UTF-8 encoded JSON which is appended to the given {@link Buffer}.
+     *
+     * @param instance The instance that will be marshalled.
+     * @param buffer   The buffer the JSON is appended to. Must not be {@code null}.
+     * @return The given buffer.
+     * @throws IOException If marshalling fails.
+     * @throws IllegalArgumentException If the given buffer is {@code null}.
+     * @since 3.0
+     */
+    public Buffer marshallTo(Object instance, Buffer buffer) throws IOException {
+        if (buffer == null) {
+            throw new IllegalArgumentException("buffer must not be null");
+        }
+
+        om.writeValue(new BufferOutputStream(buffer), instance);
+        return buffer;
+    }
+
+    /**
+     * Marshalls every one of the given instances to a {@link JsonObject} and hands it to the given consumer as soon as
+     * it has been created. All instances are written through a single generator, which does not need to be set up for
+     * every instance.
+     *
+     * @param instances The instances that will be marshalled.
+     * @param consumer  Receives the created objects in the order of the instances.
+     * @param <T>       The type of {@link JsonObject} that is produced.
+     * @throws IOException If marshalling fails.
+     * @since 3.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends JsonObject> void marshallEach(Iterable<?> instances, Consumer<? super T> consumer)
+            throws IOException {
+        JsonElementGenerator jgen = acquireGenerator();
+        try {
+            jgen.setRootConsumer(root -> consumer.accept((T) root));
+            SequenceWriter writer = om.writer().writeValues(jgen);
+            for (Object instance : instances) {
+                writer.write(instance);
+            }
+            writer.close();
+        } finally {
+            releaseGenerator(jgen);
+        }
+    }
+
+    /**
+     * Creates a parser which reads the given buffer in place: from its backing array if it has one, through a stream
+     * otherwise.
+     */
+    private JsonParser createParser(Buffer buffer) throws IOException {
+        ByteBuf buf = buffer.getByteBuf();
+        if (buf.hasArray()) {
+            int offset = buf.arrayOffset() + buf.readerIndex();
+            return om.getFactory().createParser(buf.array(), offset, buf.readableBytes());
+        }
+        return om.getFactory().createParser((InputStream) new ByteBufInputStream(buf));
+    }
+
+    /**
+     * Retrieves a parser for the given element. Takes the idle parser of the current thread if pooling is enabled.
+     */
+    private JsonElementParser acquireParser(Object element) {
+        if (parsers != null) {
+            JsonElementParser jp = parsers.get();
+            if (jp != null) {
+                parsers.set(null);
+                return jp.reset(element);
+            }
+        }
+        return new JsonElementParser(element);
+    }
+
+    /**
+     * Hands the given parser back to the pool of the current thread if pooling is enabled.
+     */
+    private void releaseParser(JsonElementParser jp) {
+        if (parsers != null) {
+            parsers.set(jp);
+        }
+    }
+
+    /**
+     * Retrieves a generator. Takes the idle generator of the current thread if pooling is enabled.
+     */
+    private JsonElementGenerator acquireGenerator() {
+        if (generators != null) {
+            JsonElementGenerator jgen = generators.get();
+            if (jgen != null) {
+                generators.set(null);
+                jgen.reset();
+                return configure(jgen);
+            }
+        }
+        return configure(new JsonElementGenerator(0, om));
+    }
+
+    /**
+     * Applies the number policy, field name table and value cache of this marshaller to the given generator.
+     */
+    private JsonElementGenerator configure(JsonElementGenerator jgen) {
+        return jgen.setNumberPolicy(numberPolicy).setFieldNameTable(fieldNames).setValueCache(values);
+    }
+
+    /**
+     * Hands the given generator back to the pool of the current thread if pooling is enabled.
+     */
+    private void releaseGenerator(JsonElementGenerator jgen) {
+        if (generators != null) {
+            generators.set(jgen);
+        }
+    }
+
+    private ObjectReader reader(JavaType type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = om.readerFor(type);
+            ObjectReader existing = readers.putIfAbsent(type, reader);
+            if (existing != null) {
+                reader = existing;
+            }
+        }
+        return reader;
+    }
+
+    private <T> T readItem(JsonElementParser jp, ObjectReader reader, @Nullable Object item) throws IOException {
+        if (item == null) {
+            return null;
+        }
+        jp.reset(item);
+        return reader.readValue(jp);
+    }
+
+    private <T> T readAt(JsonElementParser jp, JsonObject root, JsonPointer path, JavaType type) throws IOException {
+        if (!jp.resetAt(root, path)) {
+            return null;
+        }
+        return om.readValue(jp, type);
+    }
+
+    private <T> T read(Object element, Class<T> type) throws IOException {
+        JsonElementParser jp = acquireParser(element);
+        try {
+            return om.readValue(jp, type);
+        } finally {
+            releaseParser(jp);
+        }
+    }
+
+    private <T> T read(Object element, TypeReference<T> type) throws IOException {
+        JsonElementParser jp = acquireParser(element);
+        try {
+            return om.readValue(jp, type);
+        } finally {
+            releaseParser(jp);
+        }
+    }
+
+    private <T> T read(Object element, JavaType type) throws IOException {
+        JsonElementParser jp = acquireParser(element);
+        try {
+            return om.readValue(jp, type);
+        } finally {
+            releaseParser(jp);
+        }
+    }
+
+    /**
+     * Unmarshalls the items of an array one by one, reusing a single parser.
+     */
+    private class ItemIterator<T> implements Iterator<T> {
+
+        private final JsonArray array;
+        private final ObjectReader reader;
+        private JsonElementParser jp;
+        private int next;
+
+        ItemIterator(JsonArray jsonArray, ObjectReader itemReader) {
+            array = jsonArray;
+            reader = itemReader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            boolean hasNext = next < array.size();
+            if (!hasNext && jp != null) {
+                releaseParser(jp);
+                jp = null;
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (next >= array.size()) {
+                throw new NoSuchElementException();
+            }
+
+            Object item = array.getValue(next++);
+            if (jp == null) {
+                jp = acquireParser(array);
+            }
+
+            try {
+                return readItem(jp, reader, item);
+            } catch (JsonMappingException e) {
+                throw new RuntimeJsonMappingException(e.getMessage(), e);
+            } catch (IOException e) {
+                throw new RuntimeJsonMappingException(e.getMessage(), JsonMappingException.fromUnexpectedIOE(e));
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
     }
 }
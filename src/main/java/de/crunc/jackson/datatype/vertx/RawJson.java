@@ -0,0 +1,347 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSON value that is already encoded, e.g. a cached response of a downstream service. It is written as it is by
+ * {@link com.fasterxml.jackson.core.JsonGenerator#writeRawValue(SerializableString)}, without being decoded and encoded
+ * again; byte based generators copy the UTF-8 bytes straight to their output. The
+ * {@link de.crunc.jackson.datatype.vertx.generator.JsonElementGenerator} keeps the value as it is in the generated
+ * tree and {@link de.crunc.jackson.datatype.vertx.parser.JsonElementParser} only decodes it if it is actually read.
+ * <p>
+ * The encoded JSON is not validated before it is {@link #decode() decoded}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+@JsonSerialize(using = RawJsonSerializer.class)
+@JsonDeserialize(using = RawJsonDeserializer.class)
+public final class RawJson implements SerializableString {
+
+    private static final Object NOT_DECODED = new Object();
+
+    @Nullable
+    private final byte[] bytes;
+
+    private final int offset;
+
+    private final int length;
+
+    @Nullable
+    private final Buffer buffer;
+
+    @Nullable
+    private String text;
+
+    @Nullable
+    private byte[] utf8;
+
+    @Nullable
+    private SerializedString quoted;
+
+    private volatile Object decoded = NOT_DECODED;
+
+    private RawJson(@Nullable byte[] bytes, int offset, int length, @Nullable Buffer buffer, @Nullable String text) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.buffer = buffer;
+        this.text = text;
+    }
+
+    /**
+     * Creates raw JSON from the given UTF-8 encoded bytes. The array is not copied and must not be changed afterwards.
+     *
+     * @param utf8 The encoded JSON. Must not be {@code null}.
+     * @return The raw JSON.
+     * @throws IllegalArgumentException If the given array is {@code null}.
+     * @since 3.0
+     */
+    public static RawJson of(byte[] utf8) {
+        if (utf8 == null) {
+            throw new IllegalArgumentException("utf8 must not be null");
+        }
+        return new RawJson(utf8, 0, utf8.length, null, null);
+    }
+
+    /**
+     * Creates raw JSON from the given range of UTF-8 encoded bytes. The array is not copied and must not be changed
+     * afterwards.
+     *
+     * @param utf8   The array that contains the encoded JSON. Must not be {@code null}.
+     * @param offset The offset of the encoded JSON within the array.
+     * @param length The number of bytes of the encoded JSON.
+     * @return The raw JSON.
+     * @throws IllegalArgumentException If the given array is {@code null} or the range is out of its bounds.
+     * @since 3.0
+     */
+    public static RawJson of(byte[] utf8, int offset, int length) {
+        if (utf8 == null) {
+            throw new IllegalArgumentException("utf8 must not be null");
+        }
+        if (offset < 0 || length < 0 || offset + length > utf8.length) {
+            throw new IllegalArgumentException("range [" + offset + ", " + (offset + length) + ") is out of bounds");
+        }
+        return new RawJson(utf8, offset, length, null, null);
+    }
+
+    /**
+     * Creates raw JSON from the readable bytes of the given buffer, which must be UTF-8 encoded. The buffer is not
+     * copied and must not be changed afterwards.
+     *
+     * @param buffer The encoded JSON. Must not be {@code null}.
+     * @return The raw JSON.
+     * @throws IllegalArgumentException If the given buffer is {@code null}.
+     * @since 3.0
+     */
+    public static RawJson of(Buffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("buffer must not be null");
+        }
+        return new RawJson(null, 0, buffer.length(), buffer, null);
+    }
+
+    /**
+     * Creates raw JSON from the given text.
+     *
+     * @param json The encoded JSON. Must not be {@code null}.
+     * @return The raw JSON.
+     * @throws IllegalArgumentException If the given text is {@code null}.
+     * @since 3.0
+     */
+    public static RawJson of(String json) {
+        if (json == null) {
+            throw new IllegalArgumentException("json must not be null");
+        }
+        return new RawJson(null, 0, -1, null, json);
+    }
+
+    /**
+     * Retrieves the encoded JSON as buffer. A buffer this value has been created from is returned as it is.
+     *
+     * @return The encoded JSON.
+     * @since 3.0
+     */
+    public Buffer toBuffer() {
+        if (buffer != null) {
+            return buffer;
+        }
+        return Buffer.buffer(asUnquotedUTF8());
+    }
+
+    /**
+     * Decodes the JSON. The result is decoded once and shared by all callers, so it must not be changed.
+     *
+     * @return The decoded value, i.e. {@link JsonObject}, {@link JsonArray}, a scalar or {@code null}.
+     * @throws DecodeException If the encoded JSON is invalid.
+     * @since 3.0
+     */
+    @Nullable
+    public Object decode() {
+        Object value = decoded;
+        if (value == NOT_DECODED) {
+            value = wrap(parse());
+            decoded = value;
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private static Object wrap(@Nullable Object value) {
+        if (value instanceof Map) {
+            return new JsonObject((Map<String, Object>) value);
+        } else if (value instanceof List) {
+            return new JsonArray((List) value);
+        }
+        return value;
+    }
+
+    @Nullable
+    private Object parse() {
+        try {
+            if (bytes != null) {
+                return Json.mapper.readValue(bytes, offset, length, Object.class);
+            } else if (buffer != null) {
+                ByteBuf buf = buffer.getByteBuf();
+                if (buf.hasArray()) {
+                    return Json.mapper.readValue(buf.array(), buf.arrayOffset() + buf.readerIndex(),
+                            buf.readableBytes(), Object.class);
+                }
+                return Json.mapper.readValue(new ByteBufInputStream(buf), Object.class);
+            }
+            return Json.mapper.readValue(text, Object.class);
+        } catch (IOException e) {
+            DecodeException failure = new DecodeException("Failed to decode:" + e.getMessage());
+            failure.initCause(e);
+            throw failure;
+        }
+    }
+
+    @Override
+    public String getValue() {
+        return toString();
+    }
+
+    @Override
+    public int charLength() {
+        return toString().length();
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+        return quoted().asQuotedChars();
+    }
+
+    /**
+     * Retrieves the encoded JSON. The returned array must not be changed.
+     */
+    @Override
+    public byte[] asUnquotedUTF8() {
+        byte[] result = utf8;
+        if (result == null) {
+            if (bytes != null) {
+                result = offset == 0 && length == bytes.length
+                        ? bytes
+                        : Arrays.copyOfRange(bytes, offset, offset + length);
+            } else if (buffer != null) {
+                result = buffer.getBytes();
+            } else {
+                result = text.getBytes(StandardCharsets.UTF_8);
+            }
+            utf8 = result;
+        }
+        return result;
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+        return quoted().asQuotedUTF8();
+    }
+
+    @Override
+    public int appendQuotedUTF8(byte[] buffer, int offset) {
+        return quoted().appendQuotedUTF8(buffer, offset);
+    }
+
+    @Override
+    public int appendQuoted(char[] buffer, int offset) {
+        return quoted().appendQuoted(buffer, offset);
+    }
+
+    @Override
+    public int appendUnquotedUTF8(byte[] buffer, int offset) {
+        byte[] utf8 = asUnquotedUTF8();
+        if (offset + utf8.length > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(utf8, 0, buffer, offset, utf8.length);
+        return utf8.length;
+    }
+
+    @Override
+    public int appendUnquoted(char[] buffer, int offset) {
+        String text = toString();
+        if (offset + text.length() > buffer.length) {
+            return -1;
+        }
+        text.getChars(0, text.length(), buffer, offset);
+        return text.length();
+    }
+
+    @Override
+    public int writeQuotedUTF8(OutputStream out) throws IOException {
+        return quoted().writeQuotedUTF8(out);
+    }
+
+    @Override
+    public int writeUnquotedUTF8(OutputStream out) throws IOException {
+        if (bytes != null) {
+            out.write(bytes, offset, length);
+            return length;
+        } else if (buffer != null) {
+            ByteBuf buf = buffer.getByteBuf();
+            buf.getBytes(buf.readerIndex(), out, buf.readableBytes());
+            return buf.readableBytes();
+        }
+        byte[] utf8 = asUnquotedUTF8();
+        out.write(utf8);
+        return utf8.length;
+    }
+
+    @Override
+    public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+        return quoted().putQuotedUTF8(buffer);
+    }
+
+    @Override
+    public int putUnquotedUTF8(ByteBuffer buffer) throws IOException {
+        byte[] utf8 = asUnquotedUTF8();
+        if (utf8.length > buffer.remaining()) {
+            return -1;
+        }
+        buffer.put(utf8);
+        return utf8.length;
+    }
+
+    private SerializedString quoted() {
+        SerializedString result = quoted;
+        if (result == null) {
+            result = new SerializedString(toString());
+            quoted = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RawJson)) {
+            return false;
+        }
+        return Arrays.equals(asUnquotedUTF8(), ((RawJson) o).asUnquotedUTF8());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(asUnquotedUTF8());
+    }
+
+    /**
+     * Retrieves the encoded JSON as text.
+     */
+    @Override
+    public String toString() {
+        String result = text;
+        if (result == null) {
+            if (bytes != null) {
+                result = new String(bytes, offset, length, StandardCharsets.UTF_8);
+            } else {
+                result = buffer.toString(StandardCharsets.UTF_8.name());
+            }
+            text = result;
+        }
+        return result;
+    }
+}
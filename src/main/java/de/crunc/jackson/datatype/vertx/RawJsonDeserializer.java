@@ -0,0 +1,67 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import io.vertx.core.json.Json;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Deserializer which produces {@link RawJson}. Raw JSON that is embedded in the parsed tree is returned as is,
+ * everything else is encoded as UTF-8.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+class RawJsonDeserializer extends StdDeserializer<RawJson> {
+
+    /**
+     * @see Serializable
+     */
+    private static final long serialVersionUID = 6112379810367312519L;
+
+    /**
+     * Singleton instance of {@link RawJsonDeserializer}
+     *
+     * @since 3.0
+     */
+    public final static RawJsonDeserializer INSTANCE = new RawJsonDeserializer();
+
+    /**
+     * Creates a new deserializer.
+     *
+     * @since 3.0
+     */
+    RawJsonDeserializer() {
+        super(RawJson.class);
+    }
+
+    @Override
+    public RawJson deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        if (jp.getCurrentToken() == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            Object embedded = jp.getEmbeddedObject();
+            if (embedded instanceof RawJson) {
+                return (RawJson) embedded;
+            }
+        }
+
+        ObjectCodec codec = jp.getCodec();
+        JsonFactory factory = codec != null ? codec.getFactory() : Json.mapper.getFactory();
+
+        ByteArrayBuilder bytes = new ByteArrayBuilder();
+        JsonGenerator generator = factory.createGenerator(bytes);
+        try {
+            generator.copyCurrentStructure(jp);
+        } finally {
+            generator.close();
+        }
+        return RawJson.of(bytes.toByteArray());
+    }
+}
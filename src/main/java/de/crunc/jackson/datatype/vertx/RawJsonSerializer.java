@@ -0,0 +1,36 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Serializes values of type {@link RawJson} as they are, without decoding them.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+class RawJsonSerializer extends JsonBaseSerializer<RawJson> {
+
+    /**
+     * Singleton instance of {@link RawJsonSerializer}
+     *
+     * @since 3.0
+     */
+    public final static RawJsonSerializer INSTANCE = new RawJsonSerializer();
+
+    /**
+     * Creates a new serializer.
+     *
+     * @since 3.0
+     */
+    RawJsonSerializer() {
+        super(RawJson.class);
+    }
+
+    @Override
+    public void serialize(RawJson value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        JsonValueKind.RAW.write(value, jgen, provider);
+    }
+}
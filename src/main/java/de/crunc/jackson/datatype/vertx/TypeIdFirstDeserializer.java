@@ -0,0 +1,64 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import de.crunc.jackson.datatype.vertx.parser.JsonElementParser;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Deserializer for beans with polymorphic type handling. If the type id is included as a property and the bean is
+ * read through a {@link JsonElementParser}, the type property is requested first. The type deserializer then finds
+ * the type id immediately instead of buffering all preceding properties. Other parsers are passed through unchanged.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+class TypeIdFirstDeserializer extends DelegatingDeserializer {
+
+    /**
+     * @see Serializable
+     */
+    private static final long serialVersionUID = 2164906380574911423L;
+
+    /**
+     * Creates a new deserializer.
+     *
+     * @param delegatee The deserializer of the bean.
+     * @since 3.0
+     */
+    TypeIdFirstDeserializer(JsonDeserializer<?> delegatee) {
+        super(delegatee);
+    }
+
+    @Override
+    protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+        return new TypeIdFirstDeserializer(newDelegatee);
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser jp, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+            throws IOException {
+        if (jp instanceof JsonElementParser && jp.getCurrentToken() == JsonToken.START_OBJECT) {
+            JsonTypeInfo.As inclusion = typeDeserializer.getTypeInclusion();
+            if (inclusion == JsonTypeInfo.As.PROPERTY || inclusion == JsonTypeInfo.As.EXISTING_PROPERTY) {
+                ((JsonElementParser) jp).prioritizeFields(typeDeserializer.getPropertyName());
+            }
+        }
+        return super.deserializeWithType(jp, ctxt, typeDeserializer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonDeserializer<Object> unwrappingDeserializer(NameTransformer unwrapper) {
+        // unwrapped properties are read from the enclosing object, so there is nothing to prioritize
+        return (JsonDeserializer<Object>) _delegatee.unwrappingDeserializer(unwrapper);
+    }
+}
@@ -0,0 +1,35 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+
+import java.io.Serializable;
+
+/**
+ * Wraps the deserializers of beans with polymorphic type handling (e.g. a class annotated with
+ * {@link com.fasterxml.jackson.annotation.JsonTypeInfo}) in a {@link TypeIdFirstDeserializer}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+class TypeIdFirstModifier extends BeanDeserializerModifier implements Serializable {
+
+    /**
+     * @see Serializable
+     */
+    private static final long serialVersionUID = -3150428337021946527L;
+
+    @Override
+    public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                                                  JsonDeserializer<?> deserializer) {
+        AnnotationIntrospector introspector = config.getAnnotationIntrospector();
+        if (introspector == null
+                || introspector.findTypeResolver(config, beanDesc.getClassInfo(), beanDesc.getType()) == null) {
+            return deserializer;
+        }
+        return new TypeIdFirstDeserializer(deserializer);
+    }
+}
@@ -0,0 +1,193 @@
+package de.crunc.jackson.datatype.vertx;
+
+import io.vertx.core.json.JsonObject;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of canonical values, which lets many {@link JsonObject}s share a single instance per short string
+ * (e.g. status values, currency or country codes) and per boxed number. When the cache is full the least recently used
+ * values are evicted. The cache is split into segments with separate locks, so that it can be shared by any number of
+ * threads; eviction is per segment.
+ * <p>
+ * Hits and misses are counted, so that the size of the cache can be tuned.
+ * <p>
+ * A serialized cache keeps its configuration, but neither its values nor its counts; it starts empty once it is
+ * deserialized.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+public final class ValueCache implements Serializable {
+
+    /**
+     * @see Serializable
+     */
+    private static final long serialVersionUID = 5912368117206442717L;
+
+    private static final int MAX_SEGMENTS = 16;
+
+    /**
+     * Segments hold at least this many values, so that small caches evict close to globally least recently used.
+     */
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private final transient Segment[] segments;
+
+    private final int maxSize;
+
+    private final int maxStringLength;
+
+    private final transient LongAdder hits = new LongAdder();
+
+    private final transient LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new cache which holds up to the given number of values.
+     *
+     * @param maxSize         The maximum number of values.
+     * @param maxStringLength The maximum length of strings that are cached, longer strings are left as they are.
+     * @throws IllegalArgumentException If the given maximum size is not positive or the maximum length is negative.
+     * @since 3.0
+     */
+    public ValueCache(int maxSize, int maxStringLength) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        if (maxStringLength < 0) {
+            throw new IllegalArgumentException("maxStringLength must not be negative");
+        }
+
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maxSize / MIN_SEGMENT_SIZE)));
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; ++i) {
+            segments[i] = new Segment((maxSize + segmentCount - 1) / segmentCount);
+        }
+
+        this.maxSize = maxSize;
+        this.maxStringLength = maxStringLength;
+    }
+
+    /**
+     * Retrieves the canonical instance of the given value. Strings up to the maximum length, {@link Integer}s and
+     * {@link Long}s outside of the range that is cached by the JDK and {@link Double}s are cached, any other value is
+     * handed back as it is.
+     *
+     * @param value The value. Can be {@code null}.
+     * @param <T>   The type of the value.
+     * @return The canonical instance of the value, which is equal to the given value.
+     * @since 3.0
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T canonicalize(@Nullable T value) {
+        if (value == null || !isCacheable(value)) {
+            return value;
+        }
+
+        int h = value.hashCode();
+        Segment segment = segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+        Object canonical;
+        synchronized (segment) {
+            canonical = segment.get(value);
+            if (canonical == null) {
+                segment.put(value, value);
+            }
+        }
+
+        if (canonical == null) {
+            misses.increment();
+            return value;
+        }
+        hits.increment();
+        return (T) canonical;
+    }
+
+    private boolean isCacheable(Object value) {
+        Class<?> cls = value.getClass();
+        if (cls == String.class) {
+            return ((String) value).length() <= maxStringLength;
+        } else if (cls == Integer.class) {
+            int i = (Integer) value;
+            return i < -128 || i > 127;
+        } else if (cls == Long.class) {
+            long l = (Long) value;
+            return l < -128 || l > 127;
+        }
+        return cls == Double.class;
+    }
+
+    /**
+     * Retrieves the number of values that have been found in this cache.
+     *
+     * @return The number of hits.
+     * @since 3.0
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieves the number of values that have not been found in this cache and have been added.
+     *
+     * @return The number of misses.
+     * @since 3.0
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieves the number of values in this cache.
+     *
+     * @return The number of values.
+     * @since 3.0
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Retrieves the maximum number of values in this cache.
+     *
+     * @return The maximum number of values.
+     * @since 3.0
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private Object readResolve() {
+        return new ValueCache(maxSize, maxStringLength);
+    }
+
+    /**
+     * A part of the cache, ordered from the least to the most recently used value.
+     */
+    private static final class Segment extends LinkedHashMap<Object, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+            return size() > capacity;
+        }
+    }
+}
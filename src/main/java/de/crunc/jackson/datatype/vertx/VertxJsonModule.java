@@ -2,13 +2,15 @@ package de.crunc.jackson.datatype.vertx;
 
 import com.fasterxml.jackson.core.util.VersionUtil;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
+import javax.annotation.Nullable;
 import java.io.Serializable;
 
 /**
- * Provides Serializers and Deserializers for {@link JsonObject} and {@link JsonArray}.
+ * Provides Serializers and Deserializers for {@link JsonObject}, {@link JsonArray}, {@link Buffer} and {@link RawJson}.
  *
  * @author Hauke Jaeger, hauke.jaeger@googlemail.com
  * @since 2.1
@@ -22,6 +24,22 @@ public class VertxJsonModule extends SimpleModule {
 
     private final static String NAME = "VertxJsonModule";
 
+    private boolean creatorPropertiesFirst = false;
+
+    private boolean typeIdFirst = true;
+
+    private NumberPolicy numberPolicy = NumberPolicy.EXACT;
+
+    @Nullable
+    private FieldNameTable fieldNames = null;
+
+    @Nullable
+    private ValueCache values = null;
+
+    private boolean lazy = false;
+
+    private JsonLimits limits = JsonLimits.UNLIMITED;
+
     /**
      * Creates a new module.
      *
@@ -29,9 +47,147 @@ public class VertxJsonModule extends SimpleModule {
      */
     public VertxJsonModule() {
         super(NAME, VersionUtil.parseVersion("2.1-SNAPSHOT", "de.crunc", "jackson-datatype-vertx"));
-        addDeserializer(JsonArray.class, JsonArrayDeserializer.INSTANCE);
-        addDeserializer(JsonObject.class, JsonObjectDeserializer.INSTANCE);
+        addJsonDeserializers(JsonObjectDeserializer.INSTANCE);
         addSerializer(JsonArraySerializer.INSTANCE);
         addSerializer(JsonObjectSerializer.INSTANCE);
+        addDeserializer(Buffer.class, BufferDeserializer.INSTANCE);
+        addSerializer(BufferSerializer.INSTANCE);
+        addDeserializer(RawJson.class, RawJsonDeserializer.INSTANCE);
+        addSerializer(RawJsonSerializer.INSTANCE);
+    }
+
+    /**
+     * Configures whether beans with a property based creator should see the creator properties first when they are
+     * read from a {@link JsonObject} through a {@link de.crunc.jackson.datatype.vertx.parser.JsonElementParser}. The
+     * bean can then be created as soon as the creator properties are known and the remaining properties need not be
+     * buffered. Has no effect for other parsers. Disabled by default; must be configured before the module is
+     * registered.
+     *
+     * @param enabled {@code true} to read creator properties first.
+     * @return {@code this}
+     * @since 3.0
+     */
+    public VertxJsonModule configureCreatorPropertiesFirst(boolean enabled) {
+        creatorPropertiesFirst = enabled;
+        return this;
+    }
+
+    /**
+     * Configures whether polymorphic beans that include their type id as a property should see the type property
+     * first when they are read from a {@link JsonObject} through a
+     * {@link de.crunc.jackson.datatype.vertx.parser.JsonElementParser}. The type id is then found immediately, no
+     * matter where the property is located in the object, and the properties in front of it need not be buffered. Has
+     * no effect for other parsers. Enabled by default; must be configured before the module is registered.
+     *
+     * @param enabled {@code true} to read the type property first.
+     * @return {@code this}
+     * @since 3.0
+     */
+    public VertxJsonModule configureTypeIdFirst(boolean enabled) {
+        typeIdFirst = enabled;
+        return this;
+    }
+
+    /**
+     * Configures how big numbers are represented in the {@link JsonObject}s and {@link JsonArray}s that are
+     * deserialized. {@link NumberPolicy#EXACT} by default; must be configured before the module is registered.
+     *
+     * @param policy The policy for big numbers. Must not be {@code null}.
+     * @return {@code this}
+     * @throws IllegalArgumentException If the given policy is {@code null}.
+     * @see de.crunc.jackson.datatype.vertx.generator.JsonElementGenerator#setNumberPolicy(NumberPolicy)
+     * @since 3.0
+     */
+    public VertxJsonModule configureNumberPolicy(NumberPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("policy must not be null");
+        }
+        numberPolicy = policy;
+        addJsonDeserializers(new JsonObjectDeserializer(numberPolicy, fieldNames, values, limits, lazy));
+        return this;
+    }
+
+    /**
+     * Configures a table the field names of the {@link JsonObject}s that are deserialized are taken from, so that
+     * objects with the same fields share the field name instances. By default field names are stored as the parser
+     * reports them; must be configured before the module is registered.
+     *
+     * @param table The table field names are taken from. Can be {@code null} to store field names as they are.
+     * @return {@code this}
+     * @see de.crunc.jackson.datatype.vertx.generator.JsonElementGenerator#setFieldNameTable(FieldNameTable)
+     * @since 3.0
+     */
+    public VertxJsonModule configureFieldNameTable(@Nullable FieldNameTable table) {
+        fieldNames = table;
+        addJsonDeserializers(new JsonObjectDeserializer(numberPolicy, fieldNames, values, limits, lazy));
+        return this;
+    }
+
+    /**
+     * Configures a cache the short strings and the numbers of the {@link JsonObject}s and {@link JsonArray}s that are
+     * deserialized are taken from, so that repeated values share a single instance. By default values are stored as
+     * the parser reports them; must be configured before the module is registered.
+     *
+     * @param cache The cache values are taken from. Can be {@code null} to store values as they are.
+     * @return {@code this}
+     * @see de.crunc.jackson.datatype.vertx.generator.JsonElementGenerator#setValueCache(ValueCache)
+     * @since 3.0
+     */
+    public VertxJsonModule configureValueCache(@Nullable ValueCache cache) {
+        values = cache;
+        addJsonDeserializers(new JsonObjectDeserializer(numberPolicy, fieldNames, values, limits, lazy));
+        return this;
+    }
+
+    /**
+     * Configures whether the {@link JsonObject}s and {@link JsonArray}s that are deserialized keep their encoded form
+     * and read their contents only when they are accessed. Each nesting level is read on its own, and objects and
+     * arrays that have not been accessed are serialized verbatim, so services that pass documents on after looking
+     * at a few fields hardly read the rest. Documents that are read from a tree are read completely. Disabled by
+     * default; must be configured before the module is registered.
+     *
+     * @param enabled {@code true} to read objects and arrays lazily.
+     * @return {@code this}
+     * @since 3.0
+     */
+    public VertxJsonModule configureLazyObjects(boolean enabled) {
+        lazy = enabled;
+        addJsonDeserializers(new JsonObjectDeserializer(numberPolicy, fieldNames, values, limits, lazy));
+        return this;
+    }
+
+    /**
+     * Configures the limits for the {@link JsonObject}s and {@link JsonArray}s that are deserialized. Documents are
+     * read without recursion, so that the limits and not the stack of the reading thread decide how deeply nested a
+     * document can be. {@link JsonLimits#UNLIMITED} by default; must be configured before the module is registered.
+     *
+     * @param limits The limits. Must not be {@code null}.
+     * @return {@code this}
+     * @throws IllegalArgumentException If the given limits are {@code null}.
+     * @since 3.0
+     */
+    public VertxJsonModule configureLimits(JsonLimits limits) {
+        if (limits == null) {
+            throw new IllegalArgumentException("limits must not be null");
+        }
+        this.limits = limits;
+        addJsonDeserializers(new JsonObjectDeserializer(numberPolicy, fieldNames, values, limits, lazy));
+        return this;
+    }
+
+    private void addJsonDeserializers(JsonObjectDeserializer objects) {
+        addDeserializer(JsonArray.class, objects.arrays());
+        addDeserializer(JsonObject.class, objects);
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        if (creatorPropertiesFirst) {
+            context.addBeanDeserializerModifier(new CreatorPropertiesFirstModifier());
+        }
+        if (typeIdFirst) {
+            context.addBeanDeserializerModifier(new TypeIdFirstModifier());
+        }
     }
 }
@@ -0,0 +1,64 @@
+package de.crunc.jackson.datatype.vertx.generator;
+
+/**
+ * Learns the number of fields of the objects that values of a type are written as. A {@link JsonElementGenerator} uses
+ * this to create the map of an object at the right capacity once it knows which value the object is written for.
+ * <p>
+ * The sizes are moving averages shared by all generators. They are hints only, so concurrent updates are not
+ * synchronized. {@link #mapCapacity(int)} is public, so that deserializers size their maps the same way.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+public final class ContainerSizes {
+
+    private static final ClassValue<Size> SIZES = new ClassValue<Size>() {
+        @Override
+        protected Size computeValue(Class<?> type) {
+            return new Size();
+        }
+    };
+
+    private ContainerSizes() {
+    }
+
+    /**
+     * Retrieves the expected number of fields for values of the given type.
+     *
+     * @param type The type of the value.
+     * @return The expected number of fields, {@code 0} if nothing has been learned for the type yet.
+     * @since 3.0
+     */
+    static int expectedSize(Class<?> type) {
+        return SIZES.get(type).average;
+    }
+
+    /**
+     * Records the number of fields a value of the given type has been written with.
+     *
+     * @param type The type of the value.
+     * @param size The number of fields.
+     * @since 3.0
+     */
+    static void record(Class<?> type, int size) {
+        Size s = SIZES.get(type);
+        int average = s.average;
+        s.average = average == 0 ? size : average + (size - average) / 4;
+    }
+
+    /**
+     * Computes the capacity of a hash map that holds the given number of entries without rehashing.
+     *
+     * @param expectedSize The expected number of entries.
+     * @return The capacity.
+     * @since 3.0
+     */
+    public static int mapCapacity(int expectedSize) {
+        return (int) (expectedSize / 0.75f) + 1;
+    }
+
+    private static final class Size {
+
+        volatile int average;
+    }
+}
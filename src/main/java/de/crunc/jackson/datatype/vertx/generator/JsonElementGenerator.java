@@ -2,20 +2,38 @@ package de.crunc.jackson.datatype.vertx.generator;
 
 import com.fasterxml.jackson.core.Base64Variant;
 import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.SerializableString;
 import com.fasterxml.jackson.core.base.GeneratorBase;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import de.crunc.jackson.datatype.vertx.FieldNameTable;
+import de.crunc.jackson.datatype.vertx.JsonValueKind;
+import de.crunc.jackson.datatype.vertx.NumberPolicy;
+import de.crunc.jackson.datatype.vertx.RawJson;
+import de.crunc.jackson.datatype.vertx.ValueCache;
+import de.crunc.jackson.datatype.vertx.parser.JsonElementParser;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.nio.charset.Charset;
-import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Deque;
-import java.util.LinkedList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Generates a tree of {@link JsonObject}.
@@ -25,6 +43,21 @@ import java.util.LinkedList;
  */
 public class JsonElementGenerator extends GeneratorBase {
 
+    /**
+     * The depth of nesting the stacks are allocated for initially; they are grown when needed.
+     */
+    private static final int INITIAL_STACK_SIZE = 8;
+
+    /**
+     * The number of fields a map with default capacity holds without rehashing.
+     */
+    private static final int DEFAULT_MAP_SIZE = 12;
+
+    /**
+     * The number of elements a list with default capacity holds without growing.
+     */
+    private static final int DEFAULT_LIST_SIZE = 10;
+
     /**
      * All the states a {@link JsonElementGenerator} can have.
      */
@@ -66,21 +99,80 @@ public class JsonElementGenerator extends GeneratorBase {
     private Object rootElement = null;
 
     /**
-     * Represents the current path into the tree which is being generated.
+     * Represents the current path into the tree which is being generated. Only the first {@link #depth} slots are
+     * used, the top element is at {@code depth - 1}.
      */
-    private final Deque<Object> elementStack = new LinkedList<Object>();
+    private Object[] elementStack = new Object[INITIAL_STACK_SIZE];
 
     /**
      * Represents the type of the elements of the {@link #elementStack} with an additional {@link State#Empty} at it's
-     * bottom.
+     * bottom, i.e. {@code stateStack[i + 1]} is the state of {@code elementStack[i]}.
+     */
+    private State[] stateStack = new State[INITIAL_STACK_SIZE + 1];
+
+    /**
+     * The names the elements of the {@link #elementStack} have in their parent object, {@code null} for elements of an
+     * array and the root.
+     */
+    private String[] nameStack = new String[INITIAL_STACK_SIZE];
+
+    /**
+     * The types of the values the objects of the {@link #elementStack} are written for, as far as they are known and
+     * their sizes should be learned.
+     */
+    private Class<?>[] typeStack = new Class<?>[INITIAL_STACK_SIZE];
+
+    /**
+     * The number of elements on the {@link #elementStack}.
      */
-    private final Deque<State> stateStack = new LinkedList<State>();
+    private int depth = 0;
 
     /**
      * The name of the field which is being added. Must only be accessed from within state {@link State#Field}.
      */
     private String fieldName = null;
 
+    /**
+     * The features this generator has been created with, restored by {@link #reset()}.
+     */
+    private final int initialFeatures;
+
+    /**
+     * Escapes field names and string values.
+     */
+    private StringEscaper escaper = StringEscaper.DEFAULT;
+
+    /**
+     * Whether subtrees are attached to the generated tree as they are instead of being copied.
+     */
+    private boolean shareSubtrees = false;
+
+    /**
+     * How big and encoded numbers are represented in the generated tree.
+     */
+    private NumberPolicy numberPolicy = NumberPolicy.EXACT;
+
+    /**
+     * Receives every completed root in sequence mode, {@code null} if only a single root is generated.
+     */
+    private Consumer<Object> rootConsumer = null;
+
+    /**
+     * The table field names are taken from, {@code null} if field names are stored as they are written.
+     */
+    private FieldNameTable fieldNames = null;
+
+    /**
+     * The cache strings and numbers are taken from, {@code null} if values are stored as they are written.
+     */
+    private ValueCache values = null;
+
+    /**
+     * Whether the codec writes scalar values of a class with its default serializer, by class. Kept across resets and
+     * cleared when the codec changes.
+     */
+    private final Map<Class<?>, Boolean> defaultSerialized = new IdentityHashMap<Class<?>, Boolean>();
+
     /**
      * Creates a new generator with the given features that uses the given object codec.
      *
@@ -90,7 +182,36 @@ public class JsonElementGenerator extends GeneratorBase {
      */
     public JsonElementGenerator(int features, ObjectCodec codec) {
         super(features, codec);
-        stateStack.push(State.Empty);
+        initialFeatures = features;
+        stateStack[0] = State.Empty;
+    }
+
+    /**
+     * Resets this generator so that it can generate another tree. The tree generated before is not affected, features,
+     * pretty printer, character escapes, sharing of subtrees, number policy, sequence mode, field name table and value
+     * cache are restored to the ones this generator has been created with.
+     *
+     * @return {@code this}
+     * @since 3.0
+     */
+    public JsonElementGenerator reset() {
+        Arrays.fill(elementStack, 0, depth, null);
+        Arrays.fill(nameStack, 0, depth, null);
+        Arrays.fill(typeStack, 0, depth, null);
+        depth = 0;
+        state = State.Empty;
+        rootElement = null;
+        fieldName = null;
+        setFeatureMask(initialFeatures);
+        setPrettyPrinter(null);
+        escaper = StringEscaper.DEFAULT;
+        shareSubtrees = false;
+        numberPolicy = NumberPolicy.EXACT;
+        rootConsumer = null;
+        fieldNames = null;
+        values = null;
+        _closed = false;
+        return this;
     }
 
     /**
@@ -101,10 +222,7 @@ public class JsonElementGenerator extends GeneratorBase {
             rootElement = object;
         }
 
-        fieldName = null;
-        state = State.Object;
-        stateStack.push(State.Object);
-        elementStack.push(object);
+        pushElement(object, State.Object);
         return object;
     }
 
@@ -116,10 +234,7 @@ public class JsonElementGenerator extends GeneratorBase {
             rootElement = array;
         }
 
-        fieldName = null;
-        state = State.Array;
-        stateStack.push(State.Array);
-        elementStack.push(array);
+        pushElement(array, State.Array);
         return array;
     }
 
@@ -129,9 +244,29 @@ public class JsonElementGenerator extends GeneratorBase {
      */
     private Object pop() {
         fieldName = null;
-        stateStack.pop();
-        state = stateStack.peek();
-        return elementStack.pop();
+        Object element = elementStack[--depth];
+        elementStack[depth] = null;
+        nameStack[depth] = null;
+        typeStack[depth] = null;
+        state = stateStack[depth];
+        return element;
+    }
+
+    /**
+     * Pushes the given element with the given state, growing the stacks if necessary.
+     */
+    private void pushElement(Object element, State elementState) {
+        if (depth == elementStack.length) {
+            elementStack = Arrays.copyOf(elementStack, depth << 1);
+            nameStack = Arrays.copyOf(nameStack, depth << 1);
+            typeStack = Arrays.copyOf(typeStack, depth << 1);
+            stateStack = Arrays.copyOf(stateStack, (depth << 1) + 1);
+        }
+
+        fieldName = null;
+        state = elementState;
+        elementStack[depth++] = element;
+        stateStack[depth] = elementState;
     }
 
     /**
@@ -139,7 +274,15 @@ public class JsonElementGenerator extends GeneratorBase {
      */
     @SuppressWarnings("unchecked")
     private <T> T peek() {
-        return (T) elementStack.peek();
+        return (T) elementStack[depth - 1];
+    }
+
+    /**
+     * Retrieves the backing list of the given array, which Vert.x only exposes as a raw {@link List}.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> elements(JsonArray array) {
+        return array.getList();
     }
 
     /**
@@ -159,11 +302,55 @@ public class JsonElementGenerator extends GeneratorBase {
         return (T) rootElement;
     }
 
+    /**
+     * Switches this generator to sequence mode, in which any number of roots can be written one after the other, e.g.
+     * by {@link com.fasterxml.jackson.databind.SequenceWriter}. Every root is handed to the given consumer as soon as
+     * it has been completed and is not retained by this generator, so {@link #get()} returns {@code null}. To collect
+     * the roots in an array pass {@code array.getList()::add}, to push them to a Vert.x stream pass a consumer that
+     * writes to the stream.
+     *
+     * @param consumer Receives the completed roots, {@code null} to generate a single root.
+     * @return {@code this}
+     * @throws IllegalStateException If a root is being generated.
+     * @since 3.0
+     */
+    public JsonElementGenerator setRootConsumer(@Nullable Consumer<Object> consumer) {
+        if (state != State.Empty) {
+            throw new IllegalStateException("can not switch sequence mode, generation has not yet finished");
+        }
+        rootConsumer = consumer;
+        return this;
+    }
+
+    /**
+     * Hands the completed root to the consumer in sequence mode.
+     */
+    private void completeRoot() {
+        if (rootConsumer != null && rootElement != null) {
+            Object root = rootElement;
+            rootElement = null;
+            rootConsumer.accept(root);
+        }
+    }
+
     @Override
     public void writeStartArray() throws IOException {
+        startArray(new JsonArray());
+    }
+
+    /**
+     * Starts an array with the given number of elements. The list of the array is created with the given size as
+     * capacity.
+     */
+    @Override
+    public void writeStartArray(int size) throws IOException {
+        startArray(size > 0 ? new JsonArray(new ArrayList<Object>(size)) : new JsonArray());
+    }
+
+    private void startArray(JsonArray started) throws IOException {
         switch (state) {
             case Empty:
-                push(new JsonArray());
+                push(started);
                 break;
 
             case Object:
@@ -171,12 +358,14 @@ public class JsonElementGenerator extends GeneratorBase {
 
             case Array:
                 JsonArray array = peek();
-                array.add(push(new JsonArray()));
+                array.add(push(started));
                 break;
 
             case Field:
                 JsonObject object = peek();
-                object.put(encodeIfNecessary(fieldName), push(new JsonArray()));
+                String name = encodeIfNecessary(fieldName);
+                object.put(name, push(started));
+                nameStack[depth - 1] = name;
                 fieldName = null;
                 break;
 
@@ -190,6 +379,9 @@ public class JsonElementGenerator extends GeneratorBase {
         switch (state) {
             case Array:
                 pop();
+                if (depth == 0) {
+                    completeRoot();
+                }
                 break;
 
             default:
@@ -214,7 +406,9 @@ public class JsonElementGenerator extends GeneratorBase {
 
             case Field:
                 JsonObject object = peek();
-                object.put(encodeIfNecessary(fieldName), push(new JsonObject()));
+                String name = encodeIfNecessary(fieldName);
+                object.put(name, push(new JsonObject()));
+                nameStack[depth - 1] = name;
                 fieldName = null;
                 break;
 
@@ -227,7 +421,14 @@ public class JsonElementGenerator extends GeneratorBase {
     public void writeEndObject() throws IOException {
         switch (state) {
             case Object:
-                pop();
+                Class<?> type = typeStack[depth - 1];
+                JsonObject object = (JsonObject) pop();
+                if (type != null) {
+                    ContainerSizes.record(type, object.size());
+                }
+                if (depth == 0) {
+                    completeRoot();
+                }
                 break;
 
             default:
@@ -235,21 +436,77 @@ public class JsonElementGenerator extends GeneratorBase {
         }
     }
 
-    private String encodeIfNecessary(String value) {
-        if (isEnabled(Feature.ESCAPE_NON_ASCII)) {
-            CharsetEncoder encoder = Charset.forName("US-ASCII").newEncoder();
-            StringBuilder encoded = new StringBuilder();
-            for (final char c : value.toCharArray()) {
-                if (encoder.canEncode(c)) {
-                    encoded.append(c);
-                } else {
-                    encoded.append("\\u");
-                    encoded.append(Integer.toHexString(0x10000 | c).substring(1).toUpperCase());
-                }
+    /**
+     * Serializers announce the value they write right after starting its object or array. If the object or array is
+     * still empty, it is replaced by one with the right capacity: the size of maps, collections and arrays is known,
+     * the size of other values is learned per type from the objects written for them before.
+     */
+    @Override
+    public void setCurrentValue(Object value) {
+        super.setCurrentValue(value);
+
+        if (value == null || depth == 0 || typeStack[depth - 1] != null) {
+            return;
+        }
+
+        Object top = peek();
+        if (state == State.Object && ((JsonObject) top).size() == 0) {
+            int expectedSize;
+            if (value instanceof Map) {
+                expectedSize = ((Map<?, ?>) value).size();
+            } else {
+                typeStack[depth - 1] = value.getClass();
+                expectedSize = ContainerSizes.expectedSize(value.getClass());
+            }
+            if (expectedSize > DEFAULT_MAP_SIZE) {
+                replaceTop(new JsonObject(new LinkedHashMap<String, Object>(ContainerSizes.mapCapacity(expectedSize))));
+            }
+        } else if (state == State.Array && ((JsonArray) top).size() == 0) {
+            int expectedSize = -1;
+            if (value instanceof Collection) {
+                expectedSize = ((Collection<?>) value).size();
+            } else if (value.getClass().isArray()) {
+                expectedSize = java.lang.reflect.Array.getLength(value);
+            }
+            if (expectedSize > DEFAULT_LIST_SIZE) {
+                replaceTop(new JsonArray(new ArrayList<Object>(expectedSize)));
             }
-            return encoded.toString();
         }
-        return value;
+    }
+
+    /**
+     * Replaces the (still empty) element on top of the element stack, including its occurrence in the parent element.
+     */
+    private void replaceTop(Object replacement) {
+        int i = depth - 1;
+        Object replaced = elementStack[i];
+        elementStack[i] = replacement;
+
+        if (i == 0) {
+            if (rootElement == replaced) {
+                rootElement = replacement;
+            }
+        } else if (stateStack[i] == State.Array) {
+            List<Object> parent = elements((JsonArray) elementStack[i - 1]);
+            parent.set(parent.size() - 1, replacement);
+        } else {
+            ((JsonObject) elementStack[i - 1]).getMap().put(nameStack[i], replacement);
+        }
+    }
+
+    private String encodeIfNecessary(String value) {
+        return escaper.escape(value, isEnabled(Feature.ESCAPE_NON_ASCII));
+    }
+
+    @Override
+    public JsonElementGenerator setCharacterEscapes(CharacterEscapes esc) {
+        escaper = esc == null ? StringEscaper.DEFAULT : new StringEscaper(esc);
+        return this;
+    }
+
+    @Override
+    public CharacterEscapes getCharacterEscapes() {
+        return escaper.getCharacterEscapes();
     }
 
     @Override
@@ -260,7 +517,7 @@ public class JsonElementGenerator extends GeneratorBase {
 
         switch (state) {
             case Object:
-                fieldName = name;
+                fieldName = fieldNames == null ? name : fieldNames.canonicalize(name);
                 state = State.Field;
                 break;
 
@@ -274,12 +531,12 @@ public class JsonElementGenerator extends GeneratorBase {
         switch (state) {
             case Array:
                 JsonArray array = peek();
-                array.add(encodeIfNecessary(text));
+                array.add(stringValue(text));
                 break;
 
             case Field:
                 JsonObject object = peek();
-                object.put(encodeIfNecessary(fieldName), encodeIfNecessary(text));
+                object.put(encodeIfNecessary(fieldName), stringValue(text));
                 fieldName = null;
                 state = State.Object;
                 break;
@@ -294,36 +551,82 @@ public class JsonElementGenerator extends GeneratorBase {
         writeString(new String(text, offset, len));
     }
 
+    /**
+     * Writes the given range of UTF-8 encoded bytes, which is already escaped as JSON string, as string value. As the
+     * generated tree holds unescaped strings the escaping is undone.
+     */
     @Override
     public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
-        throw new UnsupportedOperationException("writeRawUTF8String(byte[], int, int)");
+        String escaped = new String(text, offset, length, StandardCharsets.UTF_8);
+        writeString(escaped.indexOf('\\') < 0 ? escaped : unescape(escaped));
     }
 
     @Override
     public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
-        throw new UnsupportedOperationException("writeUTF8String(byte[], int, int)");
+        writeString(new String(text, offset, length, StandardCharsets.UTF_8));
     }
 
+    /**
+     * Not supported, as raw content that is no complete value has no representation in the generated tree. Use
+     * {@link #writeRawValue(String)} instead.
+     */
     @Override
     public void writeRaw(String text) throws IOException {
-        throw new UnsupportedOperationException("writeRaw(String)");
+        throw new UnsupportedOperationException("writeRaw(String), use writeRawValue(String)");
     }
 
+    /**
+     * Not supported, see {@link #writeRaw(String)}.
+     */
     @Override
     public void writeRaw(String text, int offset, int len) throws IOException {
-        throw new UnsupportedOperationException("writeRaw(String, int, int)");
+        throw new UnsupportedOperationException("writeRaw(String, int, int), use writeRawValue(String, int, int)");
     }
 
+    /**
+     * Not supported, see {@link #writeRaw(String)}.
+     */
     @Override
     public void writeRaw(char[] text, int offset, int len) throws IOException {
-        throw new UnsupportedOperationException("writeRaw(char[], int, int)");
+        throw new UnsupportedOperationException("writeRaw(char[], int, int), use writeRawValue(char[], int, int)");
     }
 
+    /**
+     * Not supported, see {@link #writeRaw(String)}.
+     */
     @Override
     public void writeRaw(char c) throws IOException {
         throw new UnsupportedOperationException("writeRaw(char)");
     }
 
+    /**
+     * Writes the given encoded JSON as value. It is kept in the generated tree as {@link RawJson} and only decoded
+     * when it is read.
+     */
+    @Override
+    public void writeRawValue(String text) throws IOException {
+        attach(RawJson.of(text));
+    }
+
+    @Override
+    public void writeRawValue(String text, int offset, int len) throws IOException {
+        writeRawValue(text.substring(offset, offset + len));
+    }
+
+    @Override
+    public void writeRawValue(char[] text, int offset, int len) throws IOException {
+        writeRawValue(new String(text, offset, len));
+    }
+
+    /**
+     * Writes the given encoded JSON as value. {@link RawJson} is kept in the generated tree as it is, anything else is
+     * kept as {@link RawJson} of its UTF-8 bytes.
+     */
+    @Override
+    public void writeRawValue(SerializableString text) throws IOException {
+        attach(text instanceof RawJson ? text : RawJson.of(text.asUnquotedUTF8()));
+    }
+
     @Override
     public void writeBinary(Base64Variant b64variant, byte[] data, int offset, int len) throws IOException {
         if (offset == 0 && len == data.length) {
@@ -334,21 +637,24 @@ public class JsonElementGenerator extends GeneratorBase {
         }
     }
 
+    private String stringValue(String text) {
+        String value = encodeIfNecessary(text);
+        return values == null ? value : values.canonicalize(value);
+    }
+
     private void doWriteNumber(Number number) throws IOException {
-        if (_cfgNumbersAsStrings) {
-            writeString(String.valueOf(number));
-            return;
+        if (values != null) {
+            number = values.canonicalize(number);
         }
-
         switch (state) {
             case Array:
                 JsonArray array = peek();
-                array.add(number);
+                elements(array).add(number);
                 break;
 
             case Field:
                 JsonObject object = peek();
-                object.put(encodeIfNecessary(fieldName), number);
+                object.getMap().put(encodeIfNecessary(fieldName), number);
                 fieldName = null;
                 state = State.Object;
                 break;
@@ -358,24 +664,46 @@ public class JsonElementGenerator extends GeneratorBase {
         }
     }
 
+    private void writeNumberValue(Object number) throws IOException {
+        if (number instanceof Number) {
+            doWriteNumber((Number) number);
+        } else {
+            writeString((String) number);
+        }
+    }
+
     @Override
     public void writeNumber(int number) throws IOException {
-        doWriteNumber(number);
+        if (_cfgNumbersAsStrings) {
+            writeString(Integer.toString(number));
+        } else {
+            doWriteNumber(number);
+        }
     }
 
     @Override
     public void writeNumber(long number) throws IOException {
-        doWriteNumber(number);
+        if (_cfgNumbersAsStrings) {
+            writeString(Long.toString(number));
+        } else {
+            doWriteNumber(number);
+        }
     }
 
     @Override
     public void writeNumber(BigInteger number) throws IOException {
-        doWriteNumber(number);
+        if (number == null) {
+            writeNull();
+        } else if (_cfgNumbersAsStrings) {
+            writeString(number.toString());
+        } else {
+            writeNumberValue(numberPolicy.apply(number));
+        }
     }
 
     @Override
     public void writeNumber(double number) throws IOException {
-        if (isEnabled(Feature.QUOTE_NON_NUMERIC_NUMBERS) && mustQuote(number)) {
+        if (_cfgNumbersAsStrings || (isEnabled(Feature.QUOTE_NON_NUMERIC_NUMBERS) && mustQuote(number))) {
             writeString(Double.toString(number));
         } else {
             doWriteNumber(number);
@@ -384,7 +712,7 @@ public class JsonElementGenerator extends GeneratorBase {
 
     @Override
     public void writeNumber(float number) throws IOException {
-        if (isEnabled(Feature.QUOTE_NON_NUMERIC_NUMBERS) && mustQuote(number)) {
+        if (_cfgNumbersAsStrings || (isEnabled(Feature.QUOTE_NON_NUMERIC_NUMBERS) && mustQuote(number))) {
             writeString(Float.toString(number));
         } else {
             doWriteNumber(number);
@@ -393,16 +721,82 @@ public class JsonElementGenerator extends GeneratorBase {
 
     @Override
     public void writeNumber(BigDecimal number) throws IOException {
-        doWriteNumber(number);
+        if (number == null) {
+            writeNull();
+        } else if (_cfgNumbersAsStrings || numberPolicy == NumberPolicy.STRING) {
+            writeString(isEnabled(Feature.WRITE_BIGDECIMAL_AS_PLAIN) ? number.toPlainString() : number.toString());
+        } else {
+            writeNumberValue(numberPolicy.apply(number));
+        }
     }
 
     @Override
     public void writeNumber(String encodedValue) throws IOException {
-        try {
-            doWriteNumber(new BigDecimal(encodedValue));
-        } catch (NumberFormatException e) {
-            throw err(e, "can not write <{0}> as number", encodedValue);
+        if (encodedValue == null) {
+            writeNull();
+        } else if (_cfgNumbersAsStrings) {
+            writeString(encodedValue);
+        } else {
+            try {
+                writeNumberValue(numberPolicy.applyEncoded(encodedValue));
+            } catch (NumberFormatException e) {
+                throw err(e, "can not write <{0}> as number", encodedValue);
+            }
+        }
+    }
+
+    /**
+     * Configures how big numbers, i.e. {@link BigInteger} and {@link BigDecimal}, and numbers written by
+     * {@link #writeNumber(String)} are represented in the generated tree. {@link NumberPolicy#EXACT} by default.
+     *
+     * @param policy The policy. Must not be {@code null}.
+     * @return {@code this}
+     * @throws IllegalArgumentException If the given policy is {@code null}.
+     * @since 3.0
+     */
+    public JsonElementGenerator setNumberPolicy(NumberPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("policy must not be null");
         }
+        numberPolicy = policy;
+        return this;
+    }
+
+    /**
+     * Configures a table the field names of the generated objects are taken from, so that objects with the same fields
+     * share the field name instances. By default field names are stored as they are written.
+     *
+     * @param table The table field names are taken from. Can be {@code null} to store field names as they are.
+     * @return {@code this}
+     * @since 3.0
+     */
+    public JsonElementGenerator setFieldNameTable(@Nullable FieldNameTable table) {
+        fieldNames = table;
+        return this;
+    }
+
+    /**
+     * Configures a cache the short strings and the numbers of the generated tree are taken from, so that repeated
+     * values share a single instance. By default values are stored as they are written.
+     *
+     * @param cache The cache values are taken from. Can be {@code null} to store values as they are.
+     * @return {@code this}
+     * @since 3.0
+     */
+    public JsonElementGenerator setValueCache(@Nullable ValueCache cache) {
+        values = cache;
+        return this;
+    }
+
+    /**
+     * Retrieves how big and encoded numbers are represented in the generated tree.
+     *
+     * @return The policy.
+     * @see #setNumberPolicy(NumberPolicy)
+     * @since 3.0
+     */
+    public NumberPolicy getNumberPolicy() {
+        return numberPolicy;
     }
 
     private boolean mustQuote(double number) {
@@ -455,6 +849,262 @@ public class JsonElementGenerator extends GeneratorBase {
         }
     }
 
+    @Override
+    public void writeObject(Object value) throws IOException {
+        // scalars do not need a round trip through the codec unless it has a custom serializer for them, subtrees are
+        // attached as a whole
+        JsonValueKind kind = JsonValueKind.of(value);
+        if (kind.isScalar() && isSerializedByDefault(kind, value)) {
+            kind.write(value, this, null);
+        } else if (kind == JsonValueKind.OBJECT && canAttachSubtrees() && codecWritesNullMapValues()) {
+            writeJsonObject((JsonObject) value);
+        } else if (kind == JsonValueKind.ARRAY && canAttachSubtrees()) {
+            writeJsonArray((JsonArray) value);
+        } else {
+            super.writeObject(value);
+        }
+    }
+
+    @Override
+    public JsonElementGenerator setCodec(ObjectCodec codec) {
+        super.setCodec(codec);
+        defaultSerialized.clear();
+        return this;
+    }
+
+    /**
+     * Indicates whether the codec writes the given scalar value with the default serializer for its kind, which is
+     * always the case without a codec. Codecs other than {@link ObjectMapper} are not inspected.
+     */
+    private boolean isSerializedByDefault(JsonValueKind kind, @Nullable Object value) throws IOException {
+        ObjectCodec codec = getCodec();
+        if (value == null || codec == null) {
+            return true;
+        } else if (!(codec instanceof ObjectMapper)) {
+            return false;
+        }
+
+        Class<?> cls = value.getClass();
+        Boolean serializedByDefault = defaultSerialized.get(cls);
+        if (serializedByDefault == null) {
+            ObjectMapper mapper = (ObjectMapper) codec;
+            DefaultSerializerProvider provider = ((DefaultSerializerProvider) mapper.getSerializerProvider())
+                    .createInstance(mapper.getSerializationConfig(), mapper.getSerializerFactory());
+            serializedByDefault = kind.isDefaultSerializer(provider.findValueSerializer(cls, null));
+            defaultSerialized.put(cls, serializedByDefault);
+        }
+        return serializedByDefault;
+    }
+
+    /**
+     * Copies the current structure of the given parser. If the parser is a {@link JsonElementParser} positioned at the
+     * start of an object or array, the object or array is attached as a whole instead of being copied token by token.
+     */
+    @Override
+    public void copyCurrentStructure(JsonParser jp) throws IOException {
+        if (jp instanceof JsonElementParser && canAttachSubtrees()) {
+            JsonToken t = jp.getCurrentToken();
+            if (t == JsonToken.FIELD_NAME) {
+                writeFieldName(jp.getCurrentName());
+                t = jp.nextToken();
+            }
+
+            Object container = ((JsonElementParser) jp).getCurrentContainer();
+            if (container instanceof JsonObject && codecWritesNullMapValues()) {
+                writeJsonObject((JsonObject) container);
+                jp.skipChildren();
+                return;
+            } else if (container instanceof JsonArray) {
+                writeJsonArray((JsonArray) container);
+                jp.skipChildren();
+                return;
+            }
+        }
+        super.copyCurrentStructure(jp);
+    }
+
+    /**
+     * Writes the given object as a value. A copy of the object is attached to the generated tree, or the object itself
+     * if {@link #setShareSubtrees(boolean) sharing} is enabled. Either way neither its field names nor its values are
+     * escaped.
+     *
+     * @param object The object that should be written. Can be {@code null}.
+     * @throws IOException If the object can not be written in the current state.
+     * @since 3.0
+     */
+    public void writeJsonObject(JsonObject object) throws IOException {
+        if (object == null) {
+            writeNull();
+        } else {
+            attach(shareSubtrees ? object : new JsonObject(copyMap(object.getMap())));
+        }
+    }
+
+    /**
+     * Writes the given array as a value. A copy of the array is attached to the generated tree, or the array itself if
+     * {@link #setShareSubtrees(boolean) sharing} is enabled. Either way neither field names nor values of nested
+     * objects are escaped.
+     *
+     * @param array The array that should be written. Can be {@code null}.
+     * @throws IOException If the array can not be written in the current state.
+     * @since 3.0
+     */
+    public void writeJsonArray(JsonArray array) throws IOException {
+        if (array == null) {
+            writeNull();
+        } else {
+            attach(shareSubtrees ? array : new JsonArray(copyList(array.getList())));
+        }
+    }
+
+    /**
+     * Configures whether objects and arrays written by {@link #writeJsonObject(JsonObject)} and
+     * {@link #writeJsonArray(JsonArray)} are attached to the generated tree as they are. Disabled by default, i.e.
+     * subtrees are copied: all nested objects and arrays are duplicated, which takes time linear in their size, while
+     * the values in them are shared. If enabled, attaching a subtree takes constant time, but the generated tree and
+     * the written subtrees share their objects and arrays, so changes to one are visible in the other.
+     *
+     * @param share {@code true} to attach subtrees as they are.
+     * @return {@code this}
+     * @since 3.0
+     */
+    public JsonElementGenerator setShareSubtrees(boolean share) {
+        shareSubtrees = share;
+        return this;
+    }
+
+    /**
+     * Indicates whether subtrees are attached to the generated tree as they are instead of being copied.
+     *
+     * @return {@code true} if subtrees are shared.
+     * @see #setShareSubtrees(boolean)
+     * @since 3.0
+     */
+    public boolean isShareSubtrees() {
+        return shareSubtrees;
+    }
+
+    /**
+     * Indicates whether objects and arrays can be attached as they are, which is the case unless field names and
+     * strings have to be escaped.
+     *
+     * @return {@code true} if subtrees can be attached.
+     * @since 3.0
+     */
+    public boolean canAttachSubtrees() {
+        return escaper == StringEscaper.DEFAULT && !isEnabled(Feature.ESCAPE_NON_ASCII);
+    }
+
+    private boolean codecWritesNullMapValues() {
+        ObjectCodec codec = getCodec();
+        return !(codec instanceof ObjectMapper)
+                || ((ObjectMapper) codec).isEnabled(SerializationFeature.WRITE_NULL_MAP_VALUES);
+    }
+
+    private void attach(Object subtree) throws IOException {
+        switch (state) {
+            case Empty:
+                if (rootElement == null) {
+                    rootElement = subtree;
+                }
+                completeRoot();
+                break;
+
+            case Array:
+                JsonArray array = peek();
+                elements(array).add(subtree);
+                break;
+
+            case Field:
+                JsonObject object = peek();
+                object.getMap().put(encodeIfNecessary(fieldName), subtree);
+                fieldName = null;
+                state = State.Object;
+                break;
+
+            default:
+                throw err("can not write subtree in state <{0}>", state);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> copyMap(Map<String, Object> map) {
+        Map<String, Object> copy = new LinkedHashMap<String, Object>(ContainerSizes.mapCapacity(map.size()));
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            copy.put(entry.getKey(), copyValue(entry.getValue()));
+        }
+        return copy;
+    }
+
+    private static List<Object> copyList(List<?> list) {
+        List<Object> copy = new ArrayList<Object>(list.size());
+        for (int i = 0, len = list.size(); i < len; ++i) {
+            copy.add(copyValue(list.get(i)));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copyValue(Object value) {
+        if (value instanceof JsonObject) {
+            return new JsonObject(copyMap(((JsonObject) value).getMap()));
+        } else if (value instanceof JsonArray) {
+            return new JsonArray(copyList(((JsonArray) value).getList()));
+        } else if (value instanceof Map) {
+            return copyMap((Map<String, Object>) value);
+        } else if (value instanceof List) {
+            return copyList((List<?>) value);
+        }
+        return value;
+    }
+
+    private String unescape(String escaped) throws IOException {
+        StringBuilder sb = new StringBuilder(escaped.length());
+        for (int i = 0, len = escaped.length(); i < len; ++i) {
+            char c = escaped.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (++i == len) {
+                _reportError("unexpected end of escaped string");
+            }
+            c = escaped.charAt(i);
+            switch (c) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (i + 4 >= len) {
+                        _reportError("unexpected end of escaped string");
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(escaped.substring(i + 1, i + 5), 16));
+                    } catch (NumberFormatException e) {
+                        _reportError("invalid unicode escape <\\u" + escaped.substring(i + 1, i + 5) + ">");
+                    }
+                    i += 4;
+                    break;
+                default:
+                    // '"', '\\', '/' and anything else unnecessarily escaped
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
     @Override
     public void flush() throws IOException {
     }
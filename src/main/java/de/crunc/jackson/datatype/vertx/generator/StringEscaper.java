@@ -0,0 +1,138 @@
+package de.crunc.jackson.datatype.vertx.generator;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+
+import javax.annotation.Nullable;
+
+/**
+ * Escapes field names and string values written by a {@link JsonElementGenerator}. The escapes of ASCII characters are
+ * looked up once when the escaper is created, so escaping a string is a single scan that returns the very same
+ * instance if nothing has to be escaped.
+ * <p>
+ * Only characters that need to be escaped on purpose are handled here: non-ASCII characters if
+ * {@link com.fasterxml.jackson.core.JsonGenerator.Feature#ESCAPE_NON_ASCII} is enabled and characters with a custom
+ * escape sequence. Standard JSON escapes (quotes, backslashes, control characters) are left to the encoder that turns
+ * the generated tree into text, otherwise they would be escaped twice.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ * @since 3.0
+ */
+final class StringEscaper {
+
+    /**
+     * Escaper without custom escapes.
+     */
+    static final StringEscaper DEFAULT = new StringEscaper(null);
+
+    private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * The custom escapes, {@code null} if there are none.
+     */
+    private final CharacterEscapes characterEscapes;
+
+    /**
+     * The custom escape sequences of all ASCII characters, {@code null} for characters without custom escape sequence.
+     */
+    private final String[] asciiEscapes = new String[128];
+
+    /**
+     * Whether there is at least one ASCII character with a custom escape sequence.
+     */
+    private final boolean escapesAscii;
+
+    /**
+     * Creates a new escaper.
+     *
+     * @param characterEscapes The custom escapes. Can be {@code null}.
+     * @since 3.0
+     */
+    StringEscaper(@Nullable CharacterEscapes characterEscapes) {
+        this.characterEscapes = characterEscapes;
+
+        boolean any = false;
+        if (characterEscapes != null) {
+            int[] codes = characterEscapes.getEscapeCodesForAscii();
+            for (int c = 0; c < codes.length && c < asciiEscapes.length; ++c) {
+                if (codes[c] == CharacterEscapes.ESCAPE_CUSTOM) {
+                    SerializableString sequence = characterEscapes.getEscapeSequence(c);
+                    if (sequence != null) {
+                        asciiEscapes[c] = sequence.getValue();
+                        any = true;
+                    }
+                }
+            }
+        }
+        escapesAscii = any;
+    }
+
+    /**
+     * The custom escapes this escaper has been created with.
+     *
+     * @return The custom escapes or {@code null} if there are none.
+     * @since 3.0
+     */
+    @Nullable
+    CharacterEscapes getCharacterEscapes() {
+        return characterEscapes;
+    }
+
+    /**
+     * Escapes the given value.
+     *
+     * @param value          The value that should be escaped. Can be {@code null}.
+     * @param escapeNonAscii Whether non-ASCII characters should be escaped as {@code \\uXXXX}.
+     * @return The escaped value, the given instance if nothing had to be escaped.
+     * @since 3.0
+     */
+    String escape(@Nullable String value, boolean escapeNonAscii) {
+        if (value == null || (characterEscapes == null && !escapeNonAscii)) {
+            return value;
+        }
+
+        int len = value.length();
+        int i = 0;
+        while (i < len && !mustEscape(value.charAt(i), escapeNonAscii)) {
+            ++i;
+        }
+        if (i == len) {
+            return value;
+        }
+
+        StringBuilder escaped = new StringBuilder(len + 16);
+        escaped.append(value, 0, i);
+        for (; i < len; ++i) {
+            char c = value.charAt(i);
+            if (c < 128) {
+                String sequence = asciiEscapes[c];
+                if (sequence != null) {
+                    escaped.append(sequence);
+                } else {
+                    escaped.append(c);
+                }
+            } else {
+                SerializableString sequence = characterEscapes != null ? characterEscapes.getEscapeSequence(c) : null;
+                if (sequence != null) {
+                    escaped.append(sequence.getValue());
+                } else if (escapeNonAscii) {
+                    escaped.append('\\').append('u')
+                            .append(HEX_CHARS[(c >> 12) & 0xF])
+                            .append(HEX_CHARS[(c >> 8) & 0xF])
+                            .append(HEX_CHARS[(c >> 4) & 0xF])
+                            .append(HEX_CHARS[c & 0xF]);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped.toString();
+    }
+
+    private boolean mustEscape(char c, boolean escapeNonAscii) {
+        if (c < 128) {
+            return escapesAscii && asciiEscapes[c] != null;
+        }
+        return escapeNonAscii || (characterEscapes != null && characterEscapes.getEscapeSequence(c) != null);
+    }
+}
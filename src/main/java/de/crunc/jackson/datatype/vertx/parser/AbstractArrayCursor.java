@@ -3,10 +3,10 @@ package de.crunc.jackson.datatype.vertx.parser;
 import com.fasterxml.jackson.core.JsonToken;
 
 import javax.annotation.Nullable;
-import java.util.Iterator;
 
 /**
- * Cursor for traversing JSON array structures.
+ * Cursor for traversing JSON array structures. The items are visited by index, the current name (which is the index
+ * of the current item) is only computed when it is requested.
  *
  * @param <A> The type of the JSON array.
  * @author Hauke Jaeger, hauke.jaeger@googlemail.com
@@ -17,12 +17,17 @@ abstract class AbstractArrayCursor<A, E> extends AbstractTreeCursor<E> {
     /**
      * The array which is being traversed.
      */
-    private final A array;
+    private A array;
 
     /**
-     * Iterates over all items of the array.
+     * The number of items which are traversed. Skipping children lowers this to the current position.
      */
-    private final SkippableIterator<E> elements;
+    private int size;
+
+    /**
+     * The index of the item which is returned by the next call to {@link #nextToken()}.
+     */
+    private int next;
 
     /**
      * The token for the current position of the cursor.
@@ -44,45 +49,78 @@ abstract class AbstractArrayCursor<A, E> extends AbstractTreeCursor<E> {
      */
     AbstractArrayCursor(A jsonArray, @Nullable AbstractTreeCursor<E> parentCursor) {
         super(TYPE_ARRAY, parentCursor);
+        reset(jsonArray, parentCursor);
+    }
 
+    /**
+     * Resets this cursor so that it traverses the given array with the given parent. Allows cursors to be recycled
+     * instead of allocating a new one for every nested array.
+     *
+     * @param jsonArray    The array that should be traversed.
+     * @param parentCursor The parent of this cursor. Can be {@code null}.
+     * @since 3.0
+     */
+    void reset(A jsonArray, @Nullable AbstractTreeCursor<E> parentCursor) {
         if (jsonArray == null) {
             throw new IllegalArgumentException("jsonArray must not be null");
         }
 
         array = jsonArray;
-        elements = new SkippableIterator<E>(getElements(array));
+        parent = parentCursor;
+        size = getSize(array);
+        next = 0;
+        currentToken = null;
+        currentElement = null;
+        currentName = null;
         _index = -1;
     }
 
     /**
-     * Retrieve the elements of the given array as an iterator. If there are no elements (empty array) an iterator with
-     * no more elements must be returned.
+     * Retrieve the number of items of the given array.
      *
-     * @param array The array that's elements should be iterated.
-     * @return A new iterator.
-     * @since 2.1
+     * @param array The array that's size should be returned.
+     * @return The number of items.
+     * @since 3.0
      */
-    protected abstract Iterator<E> getElements(A array);
+    protected abstract int getSize(A array);
+
+    /**
+     * Retrieve the item at the given index of the given array.
+     *
+     * @param array The array that's item should be returned.
+     * @param index The index of the item, between {@code 0} and {@link #getSize(Object)} (exclusive).
+     * @return The item, can be {@code null}.
+     * @since 3.0
+     */
+    protected abstract E getElement(A array, int index);
 
     @Override
     public JsonToken nextToken() {
         // step to next element
-        if (elements.hasNext()) {
-            currentElement = elements.next();
+        if (next < size) {
+            _index = next++;
+            currentElement = getElement(array, _index);
             currentToken = getToken(currentElement);
-            ++_index;
         } else {
-            // no more fields
+            // no more items
             currentToken = null;
             currentElement = null;
         }
-        
-        // update currentName
-        currentName = String.valueOf(_index);
-        
+
+        // a previously overridden name is only valid for the previous item
+        currentName = null;
+
         return currentToken;
     }
 
+    @Override
+    public String getCurrentName() {
+        if (currentName != null) {
+            return currentName;
+        }
+        return _index < 0 ? null : String.valueOf(_index);
+    }
+
     @Override
     public JsonToken nextValue() {
         return nextToken();
@@ -90,7 +128,7 @@ abstract class AbstractArrayCursor<A, E> extends AbstractTreeCursor<E> {
 
     @Override
     public void skipChildren() {
-        elements.skip();
+        size = next;
     }
 
     @Override
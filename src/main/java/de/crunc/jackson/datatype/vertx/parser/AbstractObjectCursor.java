@@ -3,7 +3,13 @@ package de.crunc.jackson.datatype.vertx.parser;
 import com.fasterxml.jackson.core.JsonToken;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
  * Cursor for traversing JSON object structures.
@@ -17,12 +23,17 @@ abstract class AbstractObjectCursor<T, E> extends AbstractTreeCursor<E> {
     /**
      * The object which is being traversed.
      */
-    private final T object;
+    private T object;
 
     /**
-     * Iterates over all fields of the object.
+     * Iterates over all fields (name and value) of the object.
      */
-    private final SkippableIterator<String> fields;
+    private final SkippableIterator<Map.Entry<String, E>> fields;
+
+    /**
+     * Iterates the prioritized fields first, allocated on first use and recycled with this cursor.
+     */
+    private PrioritizedFields prioritized;
 
     /**
      * The token for the current position of the cursor.
@@ -55,29 +66,63 @@ abstract class AbstractObjectCursor<T, E> extends AbstractTreeCursor<E> {
         }
 
         object = jsonObject;
-        fields = new SkippableIterator<String>(getFields(object));
+        fields = new SkippableIterator<Map.Entry<String, E>>(getFields(object));
+        _index = -1;
+    }
+
+    /**
+     * Resets this cursor so that it traverses the given object with the given parent. Allows cursors to be recycled
+     * instead of allocating a new one for every nested object.
+     *
+     * @param jsonObject   The object which is traversed by this cursor. Must not be {@code null}.
+     * @param parentCursor The parent of this cursor. Can be {@code null}.
+     * @throws IllegalArgumentException If the given jsonObject is {@code null}.
+     * @since 3.0
+     */
+    void reset(T jsonObject, @Nullable AbstractTreeCursor<E> parentCursor) {
+        if (jsonObject == null) {
+            throw new IllegalArgumentException("jsonObject must not be null");
+        }
+
+        object = jsonObject;
+        parent = parentCursor;
+        fields.reset(getFields(object));
+        currentToken = null;
+        currentFieldName = null;
+        currentValue = null;
+        currentName = null;
         _index = -1;
     }
 
     /**
-     * Retrieve an iterator for all field names of the given object. If there are no fields (empty object) an iterator
-     * with no more elements must be returned.
+     * Retrieve an iterator for all fields (name and value) of the given object. If there are no fields (empty object)
+     * an iterator with no more elements must be returned.
      *
      * @param object The object that's fields should be returned as an iterator.
      * @return A new iterator.
-     * @since 2.1
+     * @since 3.0
      */
-    protected abstract Iterator<String> getFields(T object);
+    protected abstract Iterator<Map.Entry<String, E>> getFields(T object);
 
     /**
-     * Retrieve the value which is mapped to the given fieldName within the given object.
+     * Retrieve the field with the given name of the given object.
      *
-     * @param fieldName The name of the field that's value should be retrieved.
-     * @param object    The object the value should be retrieved from.
+     * @param object The object that's field should be returned.
+     * @param name   The name of the field.
+     * @return The field or {@code null} if the object has no field with the given name.
+     * @since 3.0
+     */
+    @Nullable
+    protected abstract Map.Entry<String, E> getField(T object, String name);
+
+    /**
+     * Retrieve the value of the given field as an element of the tree.
+     *
+     * @param field The field that's value should be retrieved.
      * @return The value of the field or {@code null} if there is no value.
-     * @since 2.1
+     * @since 3.0
      */
-    protected abstract E getValue(String fieldName, T object);
+    protected abstract E getValue(Map.Entry<String, E> field);
 
     /**
      * Retrieve the number of children (if any) for the given element. If the element is not a structure which can have
@@ -89,6 +134,28 @@ abstract class AbstractObjectCursor<T, E> extends AbstractTreeCursor<E> {
      */
     protected abstract int getNumberOfChildren(E element);
 
+    /**
+     * Causes this cursor to traverse the fields with the given names before all other fields. This is only possible
+     * as long as traversal has not started.
+     *
+     * @param names The names of the fields that should be traversed first, in the order they should be traversed.
+     *              Names of fields the object does not have and repeated names are ignored.
+     * @return {@code true} if the fields will be traversed first, {@code false} if traversal has already started.
+     * @since 3.0
+     */
+    boolean prioritize(String[] names) {
+        if (fields.isStarted() || currentToken != null) {
+            return false;
+        }
+
+        if (prioritized == null) {
+            prioritized = new PrioritizedFields();
+        }
+        prioritized.reset(names);
+        fields.reset(prioritized);
+        return true;
+    }
+
     @Override
     public JsonToken nextToken() {
         if (currentToken == JsonToken.FIELD_NAME) {
@@ -98,8 +165,9 @@ abstract class AbstractObjectCursor<T, E> extends AbstractTreeCursor<E> {
             // step to next field
             if (fields.hasNext()) {
                 currentToken = JsonToken.FIELD_NAME;
-                currentFieldName = fields.next();
-                currentValue = getValue(currentFieldName, object);
+                Map.Entry<String, E> field = fields.next();
+                currentFieldName = field.getKey();
+                currentValue = getValue(field);
                 ++_index;
             } else {
                 // no more fields
@@ -159,4 +227,68 @@ abstract class AbstractObjectCursor<T, E> extends AbstractTreeCursor<E> {
     public String toString() {
         return "object @ " + currentToken;
     }
+
+    /**
+     * Iterates over the fields with the given names (as far as the object has them) and then over all other fields.
+     */
+    private final class PrioritizedFields implements Iterator<Map.Entry<String, E>> {
+
+        private final List<Map.Entry<String, E>> first = new ArrayList<Map.Entry<String, E>>();
+
+        /**
+         * The distinct prioritized names, so that the remaining fields are checked in constant time each.
+         */
+        private final Set<String> names = new HashSet<String>();
+
+        private int position;
+
+        private Iterator<Map.Entry<String, E>> rest;
+
+        private Map.Entry<String, E> next;
+
+        void reset(String[] names) {
+            this.names.clear();
+            first.clear();
+            for (String name : names) {
+                if (!this.names.add(name)) {
+                    continue;
+                }
+                Map.Entry<String, E> field = getField(object, name);
+                if (field != null) {
+                    first.add(field);
+                }
+            }
+            position = 0;
+            rest = getFields(object);
+            next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < first.size() || next != null) {
+                return true;
+            }
+            while (rest.hasNext()) {
+                Map.Entry<String, E> field = rest.next();
+                if (!names.contains(field.getKey())) {
+                    next = field;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Map.Entry<String, E> next() {
+            if (position < first.size()) {
+                return first.get(position++);
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, E> field = next;
+            next = null;
+            return field;
+        }
+    }
 }
@@ -14,7 +14,7 @@ import javax.annotation.Nullable;
  */
 abstract class AbstractRootCursor<S, E> extends AbstractTreeCursor<E> {
 
-    private final S root;
+    private S root;
     
     private JsonToken currentToken;
     private E currentElement;
@@ -39,6 +39,22 @@ abstract class AbstractRootCursor<S, E> extends AbstractTreeCursor<E> {
         _index = -1;
     }
 
+    /**
+     * Resets this cursor so that it traverses the given root element from the start. Unlike the constructor this
+     * accepts {@code null}, which is traversed as a single JSON {@code null} value.
+     *
+     * @param rootElement The root element of the JSON structure. Can be {@code null}.
+     * @since 3.0
+     */
+    void reset(@Nullable S rootElement) {
+        root = rootElement;
+        done = false;
+        currentToken = null;
+        currentElement = null;
+        currentName = null;
+        _index = -1;
+    }
+
     /**
      * Retrieves the token that represents the given root element.
      *
@@ -15,9 +15,9 @@ import javax.annotation.Nullable;
 abstract class AbstractTreeCursor<E> extends JsonStreamContext {
 
     /**
-     * The parent of this cursor.
+     * The parent of this cursor. Reassigned when the cursor is reset for reuse.
      */
-    protected final AbstractTreeCursor<E> parent;
+    protected AbstractTreeCursor<E> parent;
 
     /**
      * The current name (which can be overridden)
@@ -1,11 +1,11 @@
 package de.crunc.jackson.datatype.vertx.parser;
 
 import com.fasterxml.jackson.core.JsonToken;
+import de.crunc.jackson.datatype.vertx.RawJson;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 import javax.annotation.Nullable;
-import java.util.Iterator;
 
 /**
  * Cursor for traversing {@link JsonArray}.
@@ -28,8 +28,14 @@ class JsonArrayCursor extends AbstractArrayCursor<JsonArray, Object> {
     }
 
     @Override
-    protected Iterator<Object> getElements(JsonArray array) {
-        return array.iterator();
+    protected int getSize(JsonArray array) {
+        return array.size();
+    }
+
+    @Override
+    protected Object getElement(JsonArray array, int index) {
+        Object element = array.getValue(index);
+        return element instanceof RawJson ? ((RawJson) element).decode() : element;
     }
 
     @Override
@@ -2,6 +2,12 @@ package de.crunc.jackson.datatype.vertx.parser;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.ParserMinimalBase;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import de.crunc.jackson.datatype.vertx.JsonValueKind;
+import de.crunc.jackson.datatype.vertx.RawJson;
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 import javax.annotation.Nullable;
@@ -9,11 +15,18 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import static com.fasterxml.jackson.core.JsonToken.*;
 
 /**
  * Parses instances of type {@link JsonObject}.
+ * <p>
+ * A parser can be {@link #reset(Object) reset} and reused for another tree. The cursors for nested objects and arrays
+ * are kept per depth and recycled, so reusing a parser does not allocate new cursors once the deepest level of the
+ * parsed trees has been reached.
  *
  * @author Hauke Jaeger, hauke.jaeger@googlemail.com
  * @since 2.1
@@ -25,20 +38,51 @@ public class JsonElementParser extends ParserMinimalBase {
     /**********************************************************
      */
 
+    /**
+     * Marks a path that can not be resolved.
+     */
+    private static final Object MISSING = new Object();
+
+    /**
+     * The number of bytes base64 text is decoded in before they are written to the target stream.
+     */
+    private static final int DECODE_CHUNK_SIZE = 3 * 512;
+
     protected ObjectCodec objectCodec;
 
-    protected final AbstractTreeCursor<Object> rootCursor;
+    protected final JsonObjectRootCursor rootCursor;
 
     /**
      * Traversal context within tree
      */
     protected AbstractTreeCursor<Object> cursor;
 
+    /**
+     * Recycled object cursors, indexed by depth (the root cursor has depth {@code 0}).
+     */
+    private JsonObjectCursor[] objectCursors = new JsonObjectCursor[8];
+
+    /**
+     * Recycled array cursors, indexed by depth (the root cursor has depth {@code 0}).
+     */
+    private JsonArrayCursor[] arrayCursors = new JsonArrayCursor[8];
+
+    /**
+     * The depth of the current {@link #cursor}.
+     */
+    private int depth;
+
     /**
      * The name of the current node.
      */
     protected String currentName;
 
+    /**
+     * The array cursor that provides the name of the current node, if any. Array cursors compute their current name
+     * (the index of the current item) on demand, so it is not copied to {@link #currentName} for every item.
+     */
+    private AbstractTreeCursor<Object> nameCursor;
+
     /*
     /**********************************************************
     /* State
@@ -64,6 +108,42 @@ public class JsonElementParser extends ParserMinimalBase {
      */
     protected boolean closed;
 
+    /*
+    /**********************************************************
+    /* Coerced values of the current token
+    /**********************************************************
+     */
+
+    /**
+     * The number of the current token, parsed from a string node if necessary.
+     */
+    private Number numberValue;
+
+    /**
+     * The current number as {@link BigDecimal}.
+     */
+    private BigDecimal decimalValue;
+
+    /**
+     * The current number as {@link BigInteger}.
+     */
+    private BigInteger bigIntegerValue;
+
+    /**
+     * The textual representation of the current number.
+     */
+    private String numberText;
+
+    /**
+     * The current value as binary data, if it had to be copied or decoded.
+     */
+    private byte[] binaryValue;
+
+    /**
+     * Reused to decode base64 text in chunks, allocated on first use.
+     */
+    private byte[] decodeBuffer;
+
     public JsonElementParser(Object element) {
         this(element, null);
     }
@@ -80,6 +160,98 @@ public class JsonElementParser extends ParserMinimalBase {
         cursor = rootCursor;
     }
 
+    /**
+     * Resets this parser so that it parses the given element from the start. Configuration (features, codec) is kept,
+     * all parsing state is discarded.
+     *
+     * @param element The element that should be parsed. Must not be {@code null}.
+     * @return {@code this}
+     * @throws IllegalArgumentException If the given element is {@code null}.
+     * @since 3.0
+     */
+    public JsonElementParser reset(Object element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element must not be null");
+        }
+
+        resetInternal(element);
+        return this;
+    }
+
+    /**
+     * Resets this parser so that it parses the element at the given path within the given root element. The path is
+     * resolved by direct lookups, the rest of the tree is not visited at all. The element at the path can be any value,
+     * including JSON {@code null}.
+     *
+     * @param root The root element the path is resolved against. Must not be {@code null}.
+     * @param path The path of the element that should be parsed.
+     * @return {@code true} if there is an element at the given path, {@code false} otherwise. If {@code false} is
+     * returned the parser is closed.
+     * @throws IllegalArgumentException If the given root is {@code null}.
+     * @since 3.0
+     */
+    @SuppressWarnings("unchecked")
+    public boolean resetAt(Object root, JsonPointer path) {
+        if (root == null) {
+            throw new IllegalArgumentException("root must not be null");
+        }
+
+        Object element = root instanceof RawJson ? ((RawJson) root).decode() : root;
+        for (JsonPointer p = path; !p.matches(); p = p.tail()) {
+            if (element instanceof JsonObject) {
+                Map<String, Object> map = ((JsonObject) element).getMap();
+                String name = p.getMatchingProperty();
+                element = map.get(name);
+                if (element == null && !map.containsKey(name)) {
+                    element = MISSING;
+                    break;
+                }
+            } else if (element instanceof JsonArray) {
+                JsonArray array = (JsonArray) element;
+                int index = p.getMatchingIndex();
+                if (index < 0 || index >= array.size()) {
+                    element = MISSING;
+                    break;
+                }
+                element = array.getList().get(index);
+            } else {
+                element = MISSING;
+                break;
+            }
+
+            // raw maps/lists as kept by JsonObject(Map) or JsonArray(List)
+            if (element instanceof Map) {
+                element = new JsonObject((Map<String, Object>) element);
+            } else if (element instanceof List) {
+                element = new JsonArray((List) element);
+            } else if (element instanceof RawJson) {
+                element = ((RawJson) element).decode();
+            }
+        }
+
+        if (element == MISSING) {
+            resetInternal(null);
+            closed = true;
+            return false;
+        }
+
+        resetInternal(element);
+        return true;
+    }
+
+    private void resetInternal(@Nullable Object element) {
+        rootCursor.reset(element);
+        cursor = rootCursor;
+        depth = 0;
+        currentName = null;
+        nameCursor = null;
+        nextToken = null;
+        clearCoercedValues();
+        closed = false;
+        _currToken = null;
+        _lastClearedToken = null;
+    }
+
     @Override
     public void setCodec(ObjectCodec c) {
         objectCodec = c;
@@ -111,6 +283,8 @@ public class JsonElementParser extends ParserMinimalBase {
 
     private JsonToken nextTokenInternal(boolean skipChildren) {
 
+        clearCoercedValues();
+
         if (closed) {
             _currToken = null;
             return null;
@@ -125,6 +299,7 @@ public class JsonElementParser extends ParserMinimalBase {
         if (_currToken == END_OBJECT || _currToken == END_ARRAY) {
             if (cursor != rootCursor) {
                 cursor = cursor.getParent();
+                --depth;
             } else {
                 closed = true;
             }
@@ -137,8 +312,10 @@ public class JsonElementParser extends ParserMinimalBase {
 
         if (_currToken != null) {
             updateInternalValues();
-            if (_currToken == START_OBJECT || _currToken == START_ARRAY) {
-                cursor = cursor.iterateChildren();
+            if (_currToken == START_OBJECT) {
+                cursor = childObjectCursor((JsonObject) cursor.currentElement());
+            } else if (_currToken == START_ARRAY) {
+                cursor = childArrayCursor((JsonArray) cursor.currentElement());
             }
         } else {
             // null means no more children; need to return end marker
@@ -148,9 +325,158 @@ public class JsonElementParser extends ParserMinimalBase {
         return _currToken;
     }
 
+    /*
+    /**********************************************************
+    /* Public API, traversal shortcuts
+    /**********************************************************
+     */
+
+    // The tree already holds String keys and boxed values, so these can be answered from the cursor directly instead
+    // of going through getText()/currentNumber() like the default implementations do.
+
+    @Override
+    public boolean nextFieldName(SerializableString str) throws IOException {
+        if (nextTokenInternal(false) != FIELD_NAME) {
+            return false;
+        }
+        String name = currentName;
+        String expected = str.getValue();
+        return name == expected || expected.equals(name);
+    }
+
+    @Override
+    public String nextFieldName() throws IOException {
+        return nextTokenInternal(false) == FIELD_NAME ? currentName : null;
+    }
+
+    @Override
+    public String nextTextValue() throws IOException {
+        return nextTokenInternal(false) == VALUE_STRING ? (String) cursor.currentElement() : null;
+    }
+
+    @Override
+    public int nextIntValue(int defaultValue) throws IOException {
+        return nextTokenInternal(false) == VALUE_NUMBER_INT
+                ? ((Number) cursor.currentElement()).intValue()
+                : defaultValue;
+    }
+
+    @Override
+    public long nextLongValue(long defaultValue) throws IOException {
+        return nextTokenInternal(false) == VALUE_NUMBER_INT
+                ? ((Number) cursor.currentElement()).longValue()
+                : defaultValue;
+    }
+
+    @Override
+    public Boolean nextBooleanValue() throws IOException {
+        JsonToken t = nextTokenInternal(false);
+        if (t == VALUE_TRUE) {
+            return Boolean.TRUE;
+        } else if (t == VALUE_FALSE) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the object or array that has just been started.
+     *
+     * @return The {@link JsonObject} or {@link JsonArray}, {@code null} if the current token is neither
+     * {@link JsonToken#START_OBJECT} nor {@link JsonToken#START_ARRAY}.
+     * @since 3.0
+     */
+    @Nullable
+    public Object getCurrentContainer() {
+        if (closed || (_currToken != START_OBJECT && _currToken != START_ARRAY)) {
+            return null;
+        }
+        return cursor.getParent().currentElement();
+    }
+
+    /**
+     * Retrieves the size of the object or array that has just been started. Deserializers can use this to create their
+     * containers at the right capacity.
+     *
+     * @return The number of fields or elements, {@code -1} if the current token is neither
+     * {@link JsonToken#START_OBJECT} nor {@link JsonToken#START_ARRAY}.
+     * @since 3.0
+     */
+    public int getCurrentContainerSize() {
+        Object container = getCurrentContainer();
+        if (container instanceof JsonObject) {
+            return ((JsonObject) container).size();
+        } else if (container instanceof JsonArray) {
+            return ((JsonArray) container).size();
+        }
+        return -1;
+    }
+
+    /**
+     * Causes the fields with the given names to be returned before all other fields of the object that has just been
+     * started. As the tree is held in memory, the order of fields is up to the parser; deserializers can use this to
+     * see e.g. the properties of a creator first, so that nothing has to be buffered.
+     *
+     * @param names The names of the fields that should be returned first, in the order they should be returned. Names
+     *              of fields the object does not have are ignored.
+     * @return {@code true} if the fields will be returned first, {@code false} if the current token is not
+     * {@link JsonToken#START_OBJECT} or the parser has already advanced into the object.
+     * @since 3.0
+     */
+    public boolean prioritizeFields(String... names) {
+        if (closed || _currToken != START_OBJECT || !(cursor instanceof JsonObjectCursor)) {
+            return false;
+        }
+        return ((JsonObjectCursor) cursor).prioritize(names);
+    }
+
+    /**
+     * Descends into the given object, reusing the object cursor of the next depth if there is one.
+     */
+    private AbstractTreeCursor<Object> childObjectCursor(JsonObject object) {
+        int d = ++depth;
+        if (d >= objectCursors.length) {
+            objectCursors = Arrays.copyOf(objectCursors, d << 1);
+        }
+
+        JsonObjectCursor child = objectCursors[d];
+        if (child == null) {
+            child = new JsonObjectCursor(object, cursor);
+            objectCursors[d] = child;
+        } else {
+            child.reset(object, cursor);
+        }
+        return child;
+    }
+
+    /**
+     * Descends into the given array, reusing the array cursor of the next depth if there is one.
+     */
+    private AbstractTreeCursor<Object> childArrayCursor(JsonArray array) {
+        int d = ++depth;
+        if (d >= arrayCursors.length) {
+            arrayCursors = Arrays.copyOf(arrayCursors, d << 1);
+        }
+
+        JsonArrayCursor child = arrayCursors[d];
+        if (child == null) {
+            child = new JsonArrayCursor(array, cursor);
+            arrayCursors[d] = child;
+        } else {
+            child.reset(array, cursor);
+        }
+        return child;
+    }
+
     private void updateInternalValues() {
         if (cursor != null) {
-            currentName = cursor.getCurrentName();
+            if (cursor.inArray()) {
+                currentName = null;
+                nameCursor = cursor;
+            } else {
+                currentName = cursor.getCurrentName();
+                nameCursor = null;
+            }
         }
     }
 
@@ -169,8 +495,10 @@ public class JsonElementParser extends ParserMinimalBase {
 
     @Override
     public String getCurrentName() {
+        if (nameCursor != null) {
+            return nameCursor.getCurrentName();
+        }
         return currentName;
-        //(cursor == null) ? null : cursor.getCurrentName();
     }
 
     @Override
@@ -215,7 +543,10 @@ public class JsonElementParser extends ParserMinimalBase {
                 return (String) currentNode();
             case VALUE_NUMBER_INT:
             case VALUE_NUMBER_FLOAT:
-                return String.valueOf(currentNode());
+                if (numberText == null) {
+                    numberText = String.valueOf(currentNode());
+                }
+                return numberText;
             case VALUE_TRUE:
                 return "true";
             case VALUE_FALSE:
@@ -250,45 +581,31 @@ public class JsonElementParser extends ParserMinimalBase {
 
     @Override
     public NumberType getNumberType() throws IOException {
-        Number n = currentNumber();
-
-        if (n instanceof Integer) {
-            return NumberType.INT;
-        } else if (n instanceof Long) {
-            return NumberType.LONG;
-        } else if (n instanceof Float) {
-            return NumberType.FLOAT;
-        } else if (n instanceof Double) {
-            return NumberType.DOUBLE;
-        } else if (n instanceof BigDecimal) {
-            return NumberType.BIG_DECIMAL;
-        } else if (n instanceof BigInteger) {
-            return NumberType.BIG_INTEGER;
-        }
-
-        return null;
+        return JsonValueKind.of(currentNumber()).numberType();
     }
 
     @Override
     public BigInteger getBigIntegerValue() throws IOException {
-        Number n = currentNumber();
+        if (bigIntegerValue == null) {
+            Number n = currentNumber();
 
-        if (n instanceof BigInteger) {
-            return (BigInteger) n;
-        } else {
-            return BigInteger.valueOf(n.longValue());
+            if (n instanceof BigInteger) {
+                bigIntegerValue = (BigInteger) n;
+            } else if (n instanceof BigDecimal) {
+                bigIntegerValue = ((BigDecimal) n).toBigInteger();
+            } else {
+                bigIntegerValue = BigInteger.valueOf(n.longValue());
+            }
         }
+        return bigIntegerValue;
     }
 
     @Override
     public BigDecimal getDecimalValue() throws IOException {
-        Number n = currentNumber();
-
-        if (n instanceof BigDecimal) {
-            return (BigDecimal) n;
-        } else {
-            return new BigDecimal(n.toString());
+        if (decimalValue == null) {
+            decimalValue = toBigDecimal(currentNumber());
         }
+        return decimalValue;
     }
 
     @Override
@@ -316,21 +633,13 @@ public class JsonElementParser extends ParserMinimalBase {
         return currentNumber();
     }
 
+    /**
+     * Retrieves the current value as it is stored in the tree, e.g. a {@code byte[]} or a
+     * {@link io.vertx.core.buffer.Buffer}. The value is handed out as is, without copying it.
+     */
     @Override
     public Object getEmbeddedObject() {
         return currentNode();
-//        if (!closed) {
-//            JsonNode n = currentNode();
-//            if (n != null) {
-//                if (n.isPojo()) {
-//                    return ((POJONode) n).getPojo();
-//                }
-//                if (n.isBinary()) {
-//                    return ((BinaryNode) n).binaryValue();
-//                }
-//            }
-//        }
-//        return null;
     }
 
     /*
@@ -339,38 +648,72 @@ public class JsonElementParser extends ParserMinimalBase {
     /**********************************************************
      */
 
+    /**
+     * Retrieves the current value as binary data. A {@code byte[]} in the tree is returned as is, the contents of a
+     * {@link Buffer} are copied once and base64 encoded strings are decoded once per token.
+     */
     @Override
     public byte[] getBinaryValue(Base64Variant b64variant) throws IOException {
-        throw new UnsupportedOperationException();
-        // Multiple possibilities...
-//        JsonNode n = currentNode();
-//        if (n != null) { // binary node?
-//            byte[] data = n.binaryValue();
-//            // (or TextNode, which can also convert automatically!)
-//            if (data != null) {
-//                return data;
-//            }
-//            // Or maybe byte[] as POJO?
-//            if (n.isPojo()) {
-//                Object ob = ((POJONode) n).getPojo();
-//                if (ob instanceof byte[]) {
-//                    return (byte[]) ob;
-//                }
-//            }
-//        }
-//        // otherwise return null to mark we have no binary content
-//        return null;
-    }
+        if (binaryValue != null) {
+            return binaryValue;
+        }
 
+        Object n = currentNode();
 
+        switch (JsonValueKind.of(n)) {
+            case BINARY:
+                return (byte[]) n;
+            case BUFFER:
+                binaryValue = ((Buffer) n).getBytes();
+                return binaryValue;
+            case STRING:
+                String text = (String) n;
+                ByteArrayBuilder builder = new ByteArrayBuilder((text.length() >> 2) * 3);
+                decodeBase64(b64variant, text, builder);
+                binaryValue = builder.toByteArray();
+                return binaryValue;
+            case NULL:
+                if (_currToken == VALUE_NULL) {
+                    return null;
+                }
+                break;
+            default:
+                break;
+        }
+        throw _constructError("Current token (" + _currToken + ") not VALUE_STRING or VALUE_EMBEDDED_OBJECT, "
+                + "can not access as binary");
+    }
+
+    /**
+     * Writes the current value as binary data to the given stream. Other than {@link #getBinaryValue(Base64Variant)}
+     * this does not materialize the data: buffers are transferred directly and base64 encoded strings are decoded
+     * in chunks straight into the stream.
+     */
     @Override
     public int readBinaryValue(Base64Variant b64variant, OutputStream out) throws IOException {
-        byte[] data = getBinaryValue(b64variant);
-        if (data != null) {
-            out.write(data, 0, data.length);
-            return data.length;
+        if (binaryValue != null) {
+            out.write(binaryValue, 0, binaryValue.length);
+            return binaryValue.length;
+        }
+
+        Object n = currentNode();
+
+        switch (JsonValueKind.of(n)) {
+            case BUFFER:
+                ByteBuf buf = ((Buffer) n).getByteBuf();
+                int length = buf.readableBytes();
+                buf.getBytes(buf.readerIndex(), out, length);
+                return length;
+            case STRING:
+                return decodeBase64(b64variant, (String) n, out);
+            default:
+                byte[] data = getBinaryValue(b64variant);
+                if (data != null) {
+                    out.write(data, 0, data.length);
+                    return data.length;
+                }
+                return 0;
         }
-        return 0;
     }
 
     /*
@@ -387,19 +730,161 @@ public class JsonElementParser extends ParserMinimalBase {
     }
 
     protected Number currentNumber() throws JsonParseException {
+        if (numberValue != null) {
+            return numberValue;
+        }
+
         Object n = currentNode();
 
         if (n instanceof Number) {
-            return (Number) n;
+            numberValue = (Number) n;
         } else if (n instanceof String) {
             try {
-                return new BigDecimal((String) n);
+                numberValue = new BigDecimal((String) n);
             } catch (NumberFormatException e) {
                 throw _constructError("String value <" + n + "> is not numeric", e);
             }
+        } else {
+            throw _constructError("Current token (" + _currToken + ") not numeric, can not access numeric value");
+        }
+        return numberValue;
+    }
+
+    /**
+     * Converts the given number to a {@link BigDecimal}, avoiding the round trip through a string for integral
+     * values.
+     */
+    private static BigDecimal toBigDecimal(Number n) {
+        switch (JsonValueKind.of(n)) {
+            case BIG_DECIMAL:
+                return (BigDecimal) n;
+            case INT:
+            case LONG:
+            case SHORT:
+            case BYTE:
+                return BigDecimal.valueOf(n.longValue());
+            case BIG_INTEGER:
+                return new BigDecimal((BigInteger) n);
+            case DOUBLE:
+                return BigDecimal.valueOf(n.doubleValue());
+            default:
+                // float (its shortest decimal representation differs from the widened double) and unknown numbers
+                return new BigDecimal(n.toString());
         }
+    }
 
-        throw _constructError("Current token (" + _currToken + ") not numeric, can not access numeric value");
+    /**
+     * Discards the values that have been coerced for the previous token.
+     */
+    private void clearCoercedValues() {
+        binaryValue = null;
+        numberValue = null;
+        decimalValue = null;
+        bigIntegerValue = null;
+        numberText = null;
+    }
+
+    /**
+     * Decodes the given base64 text to the given stream, in chunks of at most {@link #DECODE_CHUNK_SIZE} bytes.
+     * White space between the quadruplets is ignored, missing padding is accepted if the variant does not use it.
+     *
+     * @return The number of bytes written.
+     */
+    private int decodeBase64(Base64Variant b64variant, String text, OutputStream out) throws IOException {
+        if (decodeBuffer == null) {
+            decodeBuffer = new byte[DECODE_CHUNK_SIZE];
+        }
+        byte[] chunk = decodeBuffer;
+        int len = text.length();
+        int i = 0;
+        int pos = 0;
+        int total = 0;
+
+        while (true) {
+            // make sure a full triplet fits into the chunk
+            if (pos > DECODE_CHUNK_SIZE - 3) {
+                out.write(chunk, 0, pos);
+                total += pos;
+                pos = 0;
+            }
+
+            i = skipWhiteSpace(text, i);
+            if (i >= len) {
+                break;
+            }
+            int bits = decodeBase64Char(b64variant, text, i++);
+
+            i = skipWhiteSpace(text, i);
+            if (i >= len) {
+                throw _constructError("Unexpected end of base64-encoded String: truncated quadruplet");
+            }
+            bits = (bits << 6) | decodeBase64Char(b64variant, text, i++);
+
+            i = skipWhiteSpace(text, i);
+            if (i >= len) {
+                if (b64variant.usesPadding()) {
+                    throw _constructError("Unexpected end of base64-encoded String: missing padding");
+                }
+                chunk[pos++] = (byte) (bits >> 4);
+                break;
+            }
+            if (b64variant.usesPaddingChar(text.charAt(i))) {
+                i = skipWhiteSpace(text, i + 1);
+                if (i >= len || !b64variant.usesPaddingChar(text.charAt(i))) {
+                    throw _constructError("Illegal base64 content: expected padding character '"
+                            + b64variant.getPaddingChar() + "'");
+                }
+                i++;
+                chunk[pos++] = (byte) (bits >> 4);
+                continue;
+            }
+            bits = (bits << 6) | decodeBase64Char(b64variant, text, i++);
+
+            i = skipWhiteSpace(text, i);
+            if (i >= len) {
+                if (b64variant.usesPadding()) {
+                    throw _constructError("Unexpected end of base64-encoded String: missing padding");
+                }
+                chunk[pos++] = (byte) (bits >> 10);
+                chunk[pos++] = (byte) (bits >> 2);
+                break;
+            }
+            if (b64variant.usesPaddingChar(text.charAt(i))) {
+                i++;
+                chunk[pos++] = (byte) (bits >> 10);
+                chunk[pos++] = (byte) (bits >> 2);
+                continue;
+            }
+            bits = (bits << 6) | decodeBase64Char(b64variant, text, i++);
+
+            chunk[pos++] = (byte) (bits >> 16);
+            chunk[pos++] = (byte) (bits >> 8);
+            chunk[pos++] = (byte) bits;
+        }
+
+        if (pos > 0) {
+            out.write(chunk, 0, pos);
+            total += pos;
+        }
+        return total;
+    }
+
+    private int decodeBase64Char(Base64Variant b64variant, String text, int index) throws JsonParseException {
+        char ch = text.charAt(index);
+        int bits = b64variant.decodeBase64Char(ch);
+        if (bits < 0) {
+            throw _constructError("Illegal character '" + ch + "' (code 0x" + Integer.toHexString(ch)
+                    + ") at position " + index + " of base64-encoded String");
+        }
+        return bits;
+    }
+
+    private static int skipWhiteSpace(String text, int index) {
+        int len = text.length();
+        while (index < len && text.charAt(index) <= ' ') {
+            index++;
+        }
+        return index;
     }
 
     @Override
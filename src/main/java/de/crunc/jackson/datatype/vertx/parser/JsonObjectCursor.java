@@ -1,11 +1,15 @@
 package de.crunc.jackson.datatype.vertx.parser;
 
 import com.fasterxml.jackson.core.JsonToken;
+import de.crunc.jackson.datatype.vertx.RawJson;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 import javax.annotation.Nullable;
+import java.util.AbstractMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Cursor for traversing {@link JsonObject}.
@@ -28,13 +32,33 @@ public class JsonObjectCursor extends AbstractObjectCursor<JsonObject, Object> {
     }
 
     @Override
-    protected Iterator<String> getFields(JsonObject object) {
-        return object.fieldNames().iterator();
+    protected Iterator<Map.Entry<String, Object>> getFields(JsonObject object) {
+        return object.getMap().entrySet().iterator();
     }
 
     @Override
-    protected Object getValue(String fieldName, JsonObject object) {
-        return object.getValue(fieldName);
+    @Nullable
+    protected Map.Entry<String, Object> getField(JsonObject object, String name) {
+        Map<String, Object> map = object.getMap();
+        Object value = map.get(name);
+        if (value == null && !map.containsKey(name)) {
+            return null;
+        }
+        return new AbstractMap.SimpleImmutableEntry<String, Object>(name, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Object getValue(Map.Entry<String, Object> field) {
+        Object value = field.getValue();
+        if (value instanceof Map) {
+            return new JsonObject((Map<String, Object>) value);
+        } else if (value instanceof List) {
+            return new JsonArray((List) value);
+        } else if (value instanceof RawJson) {
+            return ((RawJson) value).decode();
+        }
+        return value;
     }
 
     @Override
@@ -1,6 +1,7 @@
 package de.crunc.jackson.datatype.vertx.parser;
 
 import com.fasterxml.jackson.core.JsonToken;
+import de.crunc.jackson.datatype.vertx.RawJson;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 /**
@@ -23,18 +24,13 @@ public class JsonObjectRootCursor extends AbstractRootCursor<Object, Object> {
 
     @Override
     protected JsonToken getRootToken(Object root) {
-        if (root instanceof JsonObject) {
-            return JsonToken.START_OBJECT;
-        } else if (root instanceof JsonArray) {
-            return JsonToken.START_ARRAY;
-        } else {
-            throw new IllegalArgumentException("unknown JSON element type <" + root + ">");
-        }
+        // any value of the tree can be a root, e.g. when parsing starts at a JSON pointer
+        return JsonElementTokens.getToken(getRootValue(root));
     }
 
     @Override
     protected Object getRootValue(Object root) {
-        return root;
+        return root instanceof RawJson ? ((RawJson) root).decode() : root;
     }
 
     @Override
@@ -14,7 +14,7 @@ import java.util.function.Consumer;
  */
 class SkippableIterator<E> implements Iterator<E> {
 
-    private final Iterator<E> it;
+    private Iterator<E> it;
     private boolean started = false;
     private boolean skipped = false;
 
@@ -28,6 +28,29 @@ class SkippableIterator<E> implements Iterator<E> {
         it = delegate;
     }
 
+    /**
+     * Replaces the wrapped iterator and clears the started/skipped state, so that this instance can be reused.
+     *
+     * @param delegate The iterator which is wrapped by this iterator from now on.
+     * @since 3.0
+     */
+    void reset(Iterator<E> delegate) {
+        it = delegate;
+        started = false;
+        skipped = false;
+    }
+
+    /**
+     * Indicates whether iteration has started, i.e. whether an element has been retrieved since creation or the last
+     * reset.
+     *
+     * @return {@code true} if iteration has started.
+     * @since 3.0
+     */
+    boolean isStarted() {
+        return started;
+    }
+
     /**
      * Causes this iterator to skip the remaining iteration, if iteration has not yet started.
      *
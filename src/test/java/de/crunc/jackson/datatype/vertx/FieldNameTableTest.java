@@ -0,0 +1,121 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link FieldNameTable}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class FieldNameTableTest {
+
+    @Test
+    public void shouldCanonicalizeNames() {
+        FieldNameTable table = new FieldNameTable(10);
+        String first = new String("name");
+        String second = new String("name");
+
+        assertThat(table.canonicalize(first), is(sameInstance(first)));
+        assertThat(table.canonicalize(second), is(sameInstance(first)));
+        assertThat(table.size(), is(1));
+    }
+
+    @Test
+    public void shouldNotGrowBeyondMaxSize() {
+        FieldNameTable table = new FieldNameTable(1);
+        String other = new String("other");
+
+        table.canonicalize("name");
+
+        assertThat(table.canonicalize(other), is(sameInstance(other)));
+        assertThat(table.size(), is(1));
+    }
+
+    @Test
+    public void shouldInternNames() {
+        FieldNameTable table = new FieldNameTable(10, true);
+
+        assertThat(table.canonicalize(new String("interned")), is(sameInstance("interned")));
+    }
+
+    @Test
+    public void shouldShareNamesOfDeserializedObjects() throws IOException {
+        FieldNameTable table = new FieldNameTable(10);
+        ObjectMapper om = new ObjectMapper(new JsonFactory().disable(JsonFactory.Feature.CANONICALIZE_FIELD_NAMES));
+        om.registerModule(new VertxJsonModule().configureFieldNameTable(table));
+
+        JsonObject first = om.readValue("{\"key\":1}", JsonObject.class);
+        JsonObject second = om.readValue("{\"key\":2}", JsonObject.class);
+
+        assertThat(second.fieldNames().iterator().next(), is(sameInstance(first.fieldNames().iterator().next())));
+    }
+
+    @Test
+    public void shouldShareNamesWithSerializedMapper() throws Exception {
+        ObjectMapper om = new ObjectMapper(new JsonFactory().disable(JsonFactory.Feature.CANONICALIZE_FIELD_NAMES));
+        om.registerModule(new VertxJsonModule().configureFieldNameTable(new FieldNameTable(10)));
+        ObjectMapper copy = serialized(om);
+
+        JsonObject first = copy.readValue("{\"key\":1}", JsonObject.class);
+        JsonObject second = copy.readValue("{\"key\":2}", JsonObject.class);
+
+        assertThat(second.fieldNames().iterator().next(), is(sameInstance(first.fieldNames().iterator().next())));
+    }
+
+    @Test
+    public void shouldKeepConfigurationOfSerializedTable() throws Exception {
+        FieldNameTable table = new FieldNameTable(10, true);
+        table.canonicalize("name");
+
+        FieldNameTable copy = serialized(table);
+
+        assertThat(copy.getMaxSize(), is(10));
+        assertThat(copy.size(), is(0));
+        assertThat(copy.canonicalize(new String("interned")), is(sameInstance("interned")));
+    }
+
+    @Test
+    public void shouldShareNamesOfMarshalledObjects() throws IOException {
+        FieldNameTable table = new FieldNameTable(10);
+        ObjectMarshaller marshaller = new ObjectMarshaller(new ObjectMapper(), true, NumberPolicy.EXACT, table);
+
+        JsonObject first = marshaller.marshall(Collections.singletonMap(new String("key"), 1));
+        JsonObject second = marshaller.marshall(Collections.singletonMap(new String("key"), 2));
+
+        assertThat(second.fieldNames().iterator().next(), is(sameInstance(first.fieldNames().iterator().next())));
+    }
+
+    @Test
+    public void shouldShareNamesOfBuiltObjects() {
+        FieldNameTable table = new FieldNameTable(10);
+
+        JsonObject first = JsonObjectBuilder.object().withFieldNameTable(table).put(new String("key"), 1).build();
+        JsonObject second = JsonObjectBuilder.object().withFieldNameTable(table).put(new String("key"), 2).build();
+
+        assertThat(second.fieldNames().iterator().next(), is(sameInstance(first.fieldNames().iterator().next())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T serialized(T value) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import static de.crunc.jackson.datatype.vertx.JsonArrayBuilder.array;
+import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link JsonFeedDecoder}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class JsonFeedDecoderTest {
+
+    private static final String JSON = "{ \"id\" : 17, \"name\":\"Grüße \\\"\\u00e4\\ud83d\\ude00\\\\/\\n\", "
+            + "\"long\":9876543210,\"big\":-123456789012345678901234567890,\"price\":-1.5e-3,\"zero\":0,"
+            + "\"flags\":[true,false,null],\"nested\":{\"empty\":{},\"none\":[],\"emoji\":\"😀\"}}";
+
+    private ObjectMapper om;
+
+    private JsonFeedDecoder decoder;
+
+    @Before
+    public void setUp() {
+        om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule());
+        decoder = new JsonFeedDecoder();
+    }
+
+    @Test
+    public void shouldDecodeLikeDeserializer() throws IOException {
+        JsonObject expected = om.readValue(JSON, JsonObject.class);
+
+        JsonObject decoded = decoder.feed(Buffer.buffer(JSON)).end();
+
+        assertThat(decoded, is(expected));
+        assertThat(decoded.getValue("long"), is((Object) 9876543210L));
+        assertThat(decoded.getValue("big"), is((Object) new BigInteger("-123456789012345678901234567890")));
+    }
+
+    @Test
+    public void shouldDecodeChunksSplitAnywhere() throws IOException {
+        JsonObject expected = om.readValue(JSON, JsonObject.class);
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+
+        for (int split = 0; split <= bytes.length; ++split) {
+            decoder.reset()
+                    .feed(bytes, 0, split)
+                    .feed(bytes, split, bytes.length - split);
+
+            assertThat("split at " + split, decoder.<JsonObject>end(), is(expected));
+        }
+    }
+
+    @Test
+    public void shouldDecodeSingleBytes() throws IOException {
+        JsonObject expected = om.readValue(JSON, JsonObject.class);
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < bytes.length; ++i) {
+            assertThat(decoder.isComplete(), is(false));
+            decoder.handle(Buffer.buffer().appendByte(bytes[i]));
+        }
+
+        assertThat(decoder.isComplete(), is(true));
+        assertThat(decoder.<JsonObject>end(), is(expected));
+    }
+
+    @Test
+    public void shouldDecodeArrays() {
+        JsonArray decoded = decoder
+                .feed(Buffer.buffer(" [1, [\"a\"], {\"b\": 2.0}] \n"))
+                .end();
+
+        assertThat(decoded, is(array()
+                .add(1)
+                .add(array()
+                        .add("a"))
+                .add(object()
+                        .put("b", 2.0))
+                .build()));
+    }
+
+    @Test
+    public void shouldApplyConfiguration() {
+        ValueCache cache = new ValueCache(10, 8);
+        decoder.setNumberPolicy(NumberPolicy.STRING).setValueCache(cache);
+
+        JsonArray decoded = decoder.feed(Buffer.buffer("[\"abc\",\"abc\",100000000000000000000]")).end();
+
+        assertThat(decoded.getValue(1), is(sameInstance(decoded.getValue(0))));
+        assertThat(decoded.getValue(2), is((Object) "100000000000000000000"));
+    }
+
+    @Test
+    public void shouldDecodeDecimalsLikeDeserializer() throws IOException {
+        String json = "[0.1,-2.50,1e2,3,123456.789012345678]";
+        for (NumberPolicy policy : NumberPolicy.values()) {
+            ObjectMapper decimals = new ObjectMapper();
+            decimals.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+            decimals.registerModule(new VertxJsonModule().configureNumberPolicy(policy));
+
+            JsonArray decoded = decoder.reset()
+                    .setNumberPolicy(policy)
+                    .setBigDecimalForFloats(true)
+                    .feed(Buffer.buffer(json))
+                    .end();
+
+            assertThat(decoded, is(decimals.readValue(json, JsonArray.class)));
+        }
+
+        JsonArray exact = decoder.reset()
+                .setNumberPolicy(NumberPolicy.EXACT)
+                .feed(Buffer.buffer(json))
+                .end();
+        assertThat(exact.getValue(1), is((Object) new BigDecimal("-2.50")));
+    }
+
+    @Test(expected = DecodeException.class)
+    public void shouldFailOnIncompleteDocument() {
+        decoder.feed(Buffer.buffer("{\"a\":[1,2")).end();
+    }
+
+    @Test(expected = DecodeException.class)
+    public void shouldFailOnTrailingContent() {
+        decoder.feed(Buffer.buffer("{} {}"));
+    }
+
+    @Test(expected = DecodeException.class)
+    public void shouldFailOnInvalidLiteral() {
+        decoder.feed(Buffer.buffer("[nul"));
+        decoder.feed(Buffer.buffer("x]"));
+    }
+
+    @Test(expected = DecodeException.class)
+    public void shouldFailOnInvalidNumber() {
+        decoder.feed(Buffer.buffer("[01]"));
+    }
+
+    @Test(expected = DecodeException.class)
+    public void shouldFailOnScalarRoot() {
+        decoder.feed(Buffer.buffer("\"text\""));
+    }
+
+    @Test(expected = DecodeException.class)
+    public void shouldFailOnMissingColon() {
+        decoder.feed(Buffer.buffer("{\"a\" 1}"));
+    }
+
+    @Test(expected = DecodeException.class)
+    public void shouldLimitDepth() {
+        decoder.setLimits(JsonLimits.UNLIMITED.withMaxDepth(2));
+
+        decoder.feed(Buffer.buffer("[[["));
+    }
+
+    @Test
+    public void shouldRejectLongStringsWhileReceiving() {
+        decoder.setLimits(JsonLimits.UNLIMITED.withMaxStringLength(4));
+        decoder.feed(Buffer.buffer("[\"" + repeat('x', 20)));
+
+        try {
+            decoder.feed(Buffer.buffer(repeat('x', 10)));
+        } catch (DecodeException e) {
+            assertThat(e.getMessage(), containsString("maximum length"));
+            return;
+        }
+        throw new AssertionError("string has not been rejected");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotFeedFailedDecoder() {
+        try {
+            decoder.feed(Buffer.buffer("]"));
+        } catch (DecodeException e) {
+            decoder.feed(Buffer.buffer("[]"));
+        }
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder text = new StringBuilder(count);
+        for (int i = 0; i < count; ++i) {
+            text.append(c);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,135 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static de.crunc.jackson.datatype.vertx.JsonArrayBuilder.array;
+import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link JsonLimits}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class JsonLimitsTest {
+
+    @Test
+    public void shouldReadDeeplyNestedDocumentsWithoutRecursion() throws IOException {
+        int depth = 100000;
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; i < depth; ++i) {
+            json.append("{\"a\":");
+        }
+        json.append("1");
+        for (int i = 0; i < depth; ++i) {
+            json.append('}');
+        }
+
+        JsonObject read = mapper(JsonLimits.UNLIMITED).readValue(json.toString(), JsonObject.class);
+
+        for (int i = 1; i < depth; ++i) {
+            read = read.getJsonObject("a");
+        }
+        assertThat(read.getInteger("a"), is(1));
+    }
+
+    @Test
+    public void shouldAcceptDocumentsWithinLimits() throws IOException {
+        JsonLimits limits = JsonLimits.UNLIMITED
+                .withMaxDepth(2)
+                .withMaxEntries(2)
+                .withMaxStringLength(3)
+                .withMaxNodes(5);
+
+        JsonObject read = mapper(limits).readValue("{\"abc\":[1,\"xyz\"],\"b\":null}", JsonObject.class);
+
+        assertThat(read, is(object()
+                .put("abc", array()
+                        .add(1)
+                        .add("xyz"))
+                .putNull("b")
+                .build()));
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void shouldLimitDepth() throws IOException {
+        mapper(JsonLimits.UNLIMITED.withMaxDepth(2)).readValue("[[[]]]", JsonArray.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void shouldLimitEntries() throws IOException {
+        mapper(JsonLimits.UNLIMITED.withMaxEntries(2)).readValue("{\"a\":[1,2,3]}", JsonObject.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void shouldLimitStringLength() throws IOException {
+        mapper(JsonLimits.UNLIMITED.withMaxStringLength(3)).readValue("[\"abcd\"]", JsonArray.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void shouldLimitFieldNameLength() throws IOException {
+        mapper(JsonLimits.UNLIMITED.withMaxStringLength(3)).readValue("{\"abcd\":1}", JsonObject.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void shouldLimitNodes() throws IOException {
+        mapper(JsonLimits.UNLIMITED.withMaxNodes(3)).readValue("{\"a\":{\"b\":1,\"c\":2}}", JsonObject.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void shouldLimitLazyDocuments() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule()
+                .configureLazyObjects(true)
+                .configureLimits(JsonLimits.UNLIMITED.withMaxDepth(2)));
+
+        om.readValue("{\"a\":{\"b\":{}}}", JsonObject.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void shouldLimitTrees() throws IOException {
+        ObjectMarshaller marshaller = new ObjectMarshaller(mapper(JsonLimits.UNLIMITED.withMaxEntries(1)));
+
+        marshaller.unmarshall(object()
+                .put("a", 1)
+                .put("b", 2)
+                .build(), JsonObject.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void shouldKeepLimitsOfSerializedModule() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new VertxJsonModule().configureLimits(JsonLimits.UNLIMITED.withMaxDepth(2)));
+        }
+
+        ObjectMapper om = new ObjectMapper();
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            om.registerModule((VertxJsonModule) in.readObject());
+        }
+
+        om.readValue("[[[]]]", JsonArray.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonPositiveDepth() {
+        JsonLimits.UNLIMITED.withMaxDepth(0);
+    }
+
+    private static ObjectMapper mapper(JsonLimits limits) {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule().configureLimits(limits));
+        return om;
+    }
+}
@@ -1,6 +1,7 @@
 package de.crunc.jackson.datatype.vertx;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.crunc.jackson.datatype.vertx.parser.JsonElementParser;
 import org.junit.Before;
 import org.junit.Test;
 import io.vertx.core.json.JsonObject;
@@ -9,7 +10,9 @@ import java.io.IOException;
 
 import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 
 /**
  * Unit test for {@link JsonObjectDeserializer}
@@ -64,4 +67,49 @@ public class JsonObjectDeserializerTest {
         assertThat(object, equalTo(expected));
         assertThat(object.size(), equalTo(7));
     }
+
+    @Test
+    public void testDeserializeWideObjectFromJsonObject() throws IOException {
+        JsonObjectBuilder builder = object();
+        JsonArrayBuilder array = JsonArrayBuilder.array();
+        for (int i = 0; i < 100; ++i) {
+            builder.put("field" + i, i);
+            array.add(i);
+        }
+        JsonObject expected = builder
+                .put("array", array)
+                .build();
+
+        JsonObject object = om.readValue(new JsonElementParser(expected), JsonObject.class);
+
+        assertThat(object, equalTo(expected));
+    }
+
+    @Test
+    public void testDeserializeKeepsFieldOrder() throws IOException {
+        JsonObject object = om.readValue("{\"c\":1,\"a\":2,\"b\":3,\"d\":4}", JsonObject.class);
+
+        assertThat(object.fieldNames(), contains("c", "a", "b", "d"));
+    }
+
+    @Test
+    public void testDeserializeDeeplyNestedObject() throws IOException {
+        int depth = 500;
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; i < depth; ++i) {
+            json.append("{\"nested\":[");
+        }
+        json.append("true");
+        for (int i = 0; i < depth; ++i) {
+            json.append("]}");
+        }
+
+        JsonObject object = om.readValue(json.toString(), JsonObject.class);
+
+        Object value = object;
+        for (int i = 0; i < depth; ++i) {
+            value = ((JsonObject) value).getJsonArray("nested").getValue(0);
+        }
+        assertThat(value, is((Object) true));
+    }
 }
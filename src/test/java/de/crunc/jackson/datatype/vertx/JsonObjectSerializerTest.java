@@ -7,6 +7,10 @@ import org.junit.Test;
 import io.vertx.core.json.JsonObject;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static de.crunc.hamcrest.json.JsonMatchers.isJsonArray;
 import static de.crunc.hamcrest.json.JsonMatchers.isJsonObject;
@@ -76,4 +80,17 @@ public class JsonObjectSerializerTest {
                 .prop("anInt", 42)
                 .prop("aFloat", 3.141));
     }
+
+    @Test
+    public void testSerializeRawMapAndList() throws IOException {
+        Map<String, Object> child = new LinkedHashMap<String, Object>();
+        child.put("foo", "bar");
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("aMap", child);
+        map.put("aList", new ArrayList<Object>(Arrays.asList(1, 2)));
+
+        String json = om.writeValueAsString(new JsonObject(map));
+
+        assertThat(json, equalTo("{\"aMap\":{\"foo\":\"bar\"},\"aList\":[1,2]}"));
+    }
 }
@@ -0,0 +1,93 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.fasterxml.jackson.core.JsonToken.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link JsonValueKind}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class JsonValueKindTest {
+
+    @Test
+    public void shouldClassifyValues() {
+        assertThat(JsonValueKind.of(null), is(JsonValueKind.NULL));
+        assertThat(JsonValueKind.of(new JsonObject()), is(JsonValueKind.OBJECT));
+        assertThat(JsonValueKind.of(new JsonObject() {}), is(JsonValueKind.OBJECT));
+        assertThat(JsonValueKind.of(new JsonArray()), is(JsonValueKind.ARRAY));
+        assertThat(JsonValueKind.of(new HashMap<String, Object>()), is(JsonValueKind.MAP));
+        assertThat(JsonValueKind.of(new ArrayList<Object>()), is(JsonValueKind.LIST));
+        assertThat(JsonValueKind.of("foo"), is(JsonValueKind.STRING));
+        assertThat(JsonValueKind.of(true), is(JsonValueKind.BOOLEAN));
+        assertThat(JsonValueKind.of(1), is(JsonValueKind.INT));
+        assertThat(JsonValueKind.of(1L), is(JsonValueKind.LONG));
+        assertThat(JsonValueKind.of((short) 1), is(JsonValueKind.SHORT));
+        assertThat(JsonValueKind.of((byte) 1), is(JsonValueKind.BYTE));
+        assertThat(JsonValueKind.of(BigInteger.ONE), is(JsonValueKind.BIG_INTEGER));
+        assertThat(JsonValueKind.of(1.0), is(JsonValueKind.DOUBLE));
+        assertThat(JsonValueKind.of(1.0f), is(JsonValueKind.FLOAT));
+        assertThat(JsonValueKind.of(BigDecimal.ONE), is(JsonValueKind.BIG_DECIMAL));
+        assertThat(JsonValueKind.of(new AtomicLong()), is(JsonValueKind.OTHER_NUMBER));
+        assertThat(JsonValueKind.of(new byte[0]), is(JsonValueKind.BINARY));
+        assertThat(JsonValueKind.of('c'), is(JsonValueKind.OTHER));
+    }
+
+    @Test
+    public void shouldProvideTokens() {
+        assertThat(JsonValueKind.of(true).token(true), is(VALUE_TRUE));
+        assertThat(JsonValueKind.of(false).token(false), is(VALUE_FALSE));
+        assertThat(JsonValueKind.of((byte) 1).token((byte) 1), is(VALUE_NUMBER_INT));
+        assertThat(JsonValueKind.of(BigDecimal.ONE).token(BigDecimal.ONE), is(VALUE_NUMBER_FLOAT));
+        assertThat(JsonValueKind.NULL.token(null), is(VALUE_NULL));
+    }
+
+    @Test
+    public void shouldProvideNumberTypes() {
+        assertThat(JsonValueKind.INT.numberType(), is(NumberType.INT));
+        assertThat(JsonValueKind.SHORT.numberType(), is(NumberType.INT));
+        assertThat(JsonValueKind.LONG.numberType(), is(NumberType.LONG));
+        assertThat(JsonValueKind.BIG_INTEGER.numberType(), is(NumberType.BIG_INTEGER));
+        assertThat(JsonValueKind.FLOAT.numberType(), is(NumberType.FLOAT));
+        assertThat(JsonValueKind.DOUBLE.numberType(), is(NumberType.DOUBLE));
+        assertThat(JsonValueKind.BIG_DECIMAL.numberType(), is(NumberType.BIG_DECIMAL));
+        assertThat(JsonValueKind.STRING.numberType(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldWriteUncommonValueTypes() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule());
+
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("float", 1.5f);
+        map.put("short", (short) 2);
+        map.put("byte", (byte) 3);
+        map.put("bigInteger", new BigInteger("12345678901234567890"));
+        map.put("bigDecimal", new BigDecimal("1.25"));
+        map.put("binary", new byte[]{1, 2, 3});
+        map.put("list", new ArrayList<Object>(Arrays.asList("a", 'b')));
+
+        String json = om.writeValueAsString(new JsonObject(map));
+
+        assertThat(json, equalTo("{\"float\":1.5,\"short\":2,\"byte\":3,\"bigInteger\":12345678901234567890,"
+                + "\"bigDecimal\":1.25,\"binary\":\"AQID\",\"list\":[\"a\",\"b\"]}"));
+    }
+}
@@ -0,0 +1,205 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static de.crunc.jackson.datatype.vertx.JsonArrayBuilder.array;
+import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for lazily read {@link JsonObject}s and {@link JsonArray}s.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class LazyJsonObjectTest {
+
+    private static final String JSON = "{\"id\":7,\"name\":\"a\\\"b\",\"price\":1.25,\"ok\":true,\"none\":null,"
+            + "\"nested\":{\"items\":[1,{\"x\":\"y\"},[]],\"empty\":{}}}";
+
+    private ObjectMapper om;
+
+    @Before
+    public void setUp() {
+        om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule().configureLazyObjects(true));
+    }
+
+    @Test
+    public void shouldReadFieldsOnAccess() throws IOException {
+        JsonObject json = om.readValue(JSON, JsonObject.class);
+        ObjectMapper eager = new ObjectMapper().registerModule(new VertxJsonModule());
+
+        assertThat(json.getMap(), is(instanceOf(LazyJsonMap.class)));
+        assertThat(json, is(eager.readValue(JSON, JsonObject.class)));
+        assertThat(json.getString("name"), is("a\"b"));
+        assertThat(json.getJsonObject("nested").getJsonArray("items"), is(array()
+                .add(1)
+                .add(object()
+                        .put("x", "y"))
+                .add(array())
+                .build()));
+    }
+
+    @Test
+    public void shouldReadNestedObjectsOnlyWhenAccessed() throws IOException {
+        JsonObject json = om.readValue(JSON, JsonObject.class);
+
+        json.getInteger("id");
+        LazyJsonMap nested = (LazyJsonMap) json.getJsonObject("nested").getMap();
+
+        assertThat(nested.untouched(), is(notNullValue()));
+        assertThat(nested.untouched().toString(), is("{\"items\":[1,{\"x\":\"y\"},[]],\"empty\":{}}"));
+    }
+
+    @Test
+    public void shouldWriteUntouchedObjectsVerbatim() throws IOException {
+        JsonObject json = om.readValue(JSON, JsonObject.class);
+
+        assertThat(om.writeValueAsString(json), is(JSON));
+
+        json.put("id", 8);
+
+        assertThat(om.writeValueAsString(json), is(JSON.replace("\"id\":7", "\"id\":8")));
+        assertThat(((LazyJsonMap) json.getJsonObject("nested").getMap()).untouched(), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldWriteChangedNestedObjects() throws IOException {
+        JsonObject json = om.readValue(JSON, JsonObject.class);
+
+        json.getJsonObject("nested").getJsonArray("items").remove(2);
+
+        assertThat(om.writeValueAsString(json.getJsonObject("nested")),
+                is("{\"items\":[1,{\"x\":\"y\"}],\"empty\":{}}"));
+        assertThat(json.encode(), containsString("\"items\":[1,{\"x\":\"y\"}]"));
+    }
+
+    @Test
+    public void shouldHonourPrettyPrinting() throws IOException {
+        JsonObject json = om.readValue("{\"a\":[1]}", JsonObject.class);
+
+        assertThat(om.writer().with(SerializationFeature.INDENT_OUTPUT).writeValueAsString(json),
+                containsString("\n"));
+    }
+
+    @Test
+    public void shouldReadArraysLazily() throws IOException {
+        JsonArray json = om.readValue("[{\"a\":1},2]", JsonArray.class);
+
+        assertThat(json.getList(), is(instanceOf(LazyJsonList.class)));
+        assertThat(om.writeValueAsString(json), is("[{\"a\":1},2]"));
+        assertThat(json.getJsonObject(0).getInteger("a"), is(1));
+    }
+
+    @Test
+    public void shouldReadPojoFieldsLazily() throws IOException {
+        Envelope envelope = om.readValue("{\"type\":\"t\",\"payload\":{\"a\":[1,2]}}", Envelope.class);
+
+        assertThat(envelope.payload.getMap(), is(instanceOf(LazyJsonMap.class)));
+        assertThat(om.writeValueAsString(envelope), is("{\"type\":\"t\",\"payload\":{\"a\":[1,2]}}"));
+    }
+
+    @Test
+    public void shouldReadTreesCompletely() throws IOException {
+        ObjectMarshaller marshaller = new ObjectMarshaller(om);
+
+        JsonObject json = marshaller.unmarshall(object()
+                .put("a", 1)
+                .build(), JsonObject.class);
+
+        assertThat(json.getMap(), is(not(instanceOf(LazyJsonMap.class))));
+    }
+
+    @Test
+    public void shouldReadLazilyWithSerializedMapper() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(om);
+        }
+        ObjectMapper copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (ObjectMapper) in.readObject();
+        }
+
+        JsonObject json = copy.readValue(JSON, JsonObject.class);
+        JsonArray array = copy.readValue("[{\"a\":1}]", JsonArray.class);
+
+        assertThat(json.getMap(), is(instanceOf(LazyJsonMap.class)));
+        assertThat(array.getList(), is(instanceOf(LazyJsonList.class)));
+        assertThat(json.getJsonObject("nested").getJsonArray("items").size(), is(3));
+    }
+
+    @Test
+    public void shouldKeepCauseOfFailures() {
+        LazyJsonReader reader = new LazyJsonReader(NumberPolicy.EXACT, null, null, JsonLimits.UNLIMITED);
+        byte[] broken = "{\"a\":}".getBytes(StandardCharsets.UTF_8);
+
+        try {
+            reader.readObject(broken, 0, broken.length);
+        } catch (DecodeException e) {
+            assertThat(e.getCause(), is(instanceOf(JsonParseException.class)));
+            return;
+        }
+        throw new AssertionError("failure has not been reported");
+    }
+
+    @Test
+    public void shouldReadSharedObjectsConcurrently() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; ++round) {
+                final JsonObject json = om.readValue(JSON, JsonObject.class);
+                final CountDownLatch start = new CountDownLatch(1);
+                List<Future<Object>> nested = new ArrayList<Future<Object>>();
+                for (int i = 0; i < threads; ++i) {
+                    nested.add(executor.submit(new Callable<Object>() {
+                        @Override
+                        public Object call() throws Exception {
+                            start.await();
+                            assertThat(json.getInteger("id"), is(7));
+                            JsonArray items = json.getJsonObject("nested").getJsonArray("items");
+                            assertThat(items.size(), is(3));
+                            return items.getList();
+                        }
+                    }));
+                }
+                start.countDown();
+
+                Object first = nested.get(0).get();
+                for (Future<Object> items : nested) {
+                    assertThat(items.get(), is(sameInstance(first)));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class Envelope {
+        public String type;
+        public JsonObject payload;
+    }
+}
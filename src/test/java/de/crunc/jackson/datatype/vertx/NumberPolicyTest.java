@@ -0,0 +1,226 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.crunc.jackson.datatype.vertx.generator.JsonElementGenerator;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link NumberPolicy}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class NumberPolicyTest {
+
+    @Test
+    public void shouldKeepNumbersExact() {
+        assertThat(NumberPolicy.EXACT.apply(BigInteger.ONE), is((Object) BigInteger.ONE));
+        assertThat(NumberPolicy.EXACT.apply(BigDecimal.TEN), is((Object) BigDecimal.TEN));
+        assertThat(NumberPolicy.EXACT.applyEncoded("1.5"), is((Object) new BigDecimal("1.5")));
+    }
+
+    @Test
+    public void shouldNarrowIntegers() {
+        assertThat(NumberPolicy.NARROW.apply(BigInteger.valueOf(42)), is((Object) 42));
+        assertThat(NumberPolicy.NARROW.apply(BigInteger.valueOf(Long.MIN_VALUE)), is((Object) Long.MIN_VALUE));
+        assertThat(NumberPolicy.NARROW.apply(new BigDecimal("12e3")), is((Object) 12000));
+        assertThat(NumberPolicy.NARROW.apply(new BigDecimal("-123456789012")), is((Object) (-123456789012L)));
+        assertThat(NumberPolicy.NARROW.applyEncoded("-17"), is((Object) (-17)));
+        assertThat(NumberPolicy.NARROW.applyEncoded("9876543210"), is((Object) 9876543210L));
+    }
+
+    @Test
+    public void shouldNarrowDecimals() {
+        assertThat(NumberPolicy.NARROW.apply(new BigDecimal("0.1")), is((Object) 0.1));
+        assertThat(NumberPolicy.NARROW.apply(new BigDecimal("-1.50")), is((Object) (-1.5)));
+        assertThat(NumberPolicy.NARROW.apply(new BigDecimal("123456.789012345")), is((Object) 123456.789012345));
+        assertThat(NumberPolicy.NARROW.applyEncoded("2.5e-3"), is((Object) 0.0025));
+    }
+
+    @Test
+    public void shouldNotNarrowWithLoss() {
+        BigInteger big = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+        BigDecimal precise = new BigDecimal("0.1234567890123456789");
+
+        assertThat(NumberPolicy.NARROW.apply(big), is((Object) big));
+        assertThat(NumberPolicy.NARROW.apply(precise), is((Object) precise));
+        assertThat(NumberPolicy.NARROW.applyEncoded("12345678901234567890"),
+                is((Object) new BigDecimal("12345678901234567890")));
+    }
+
+    @Test
+    public void shouldKeepNumbersAsString() {
+        assertThat(NumberPolicy.STRING.apply(BigInteger.TEN), is((Object) "10"));
+        assertThat(NumberPolicy.STRING.apply(new BigDecimal("1.50")), is((Object) "1.50"));
+        assertThat(NumberPolicy.STRING.applyEncoded("1e400"), is((Object) "1e400"));
+    }
+
+    @Test
+    public void shouldApplyPolicyInGenerator() throws IOException {
+        JsonElementGenerator jgen = new JsonElementGenerator(0, new ObjectMapper())
+                .setNumberPolicy(NumberPolicy.NARROW);
+
+        jgen.writeStartArray();
+        jgen.writeNumber(new BigDecimal("2.25"));
+        jgen.writeNumber(BigInteger.valueOf(7));
+        jgen.writeNumber("12");
+        jgen.writeNumber(1);
+        jgen.writeEndArray();
+
+        JsonArray array = jgen.get();
+        assertThat(array.getValue(0), is((Object) 2.25));
+        assertThat(array.getValue(1), is((Object) 7));
+        assertThat(array.getValue(2), is((Object) 12));
+        assertThat(array.getValue(3), is((Object) 1));
+    }
+
+    @Test
+    public void shouldWriteExactNumbersInGenerator() throws IOException {
+        JsonElementGenerator jgen = new JsonElementGenerator(0, new ObjectMapper());
+
+        jgen.writeStartObject();
+        jgen.writeNumberField("decimal", new BigDecimal("0.1"));
+        jgen.writeFieldName("encoded");
+        jgen.writeNumber("-2.50");
+        jgen.writeArrayFieldStart("array");
+        jgen.writeNumber(new BigDecimal("1e400"));
+        jgen.writeNumber("3.0");
+        jgen.writeEndArray();
+        jgen.writeEndObject();
+
+        JsonObject json = jgen.get();
+        assertThat(json.getValue("decimal"), is((Object) new BigDecimal("0.1")));
+        assertThat(json.getValue("encoded"), is((Object) new BigDecimal("-2.50")));
+        assertThat(json.getJsonArray("array").getValue(0), is((Object) new BigDecimal("1e400")));
+        assertThat(json.getJsonArray("array").getValue(1), is((Object) new BigDecimal("3.0")));
+    }
+
+    @Test
+    public void shouldWriteDecimalsWhichCanNotBeNarrowedInGenerator() throws IOException {
+        BigDecimal precise = new BigDecimal("0.1234567890123456789");
+        JsonElementGenerator jgen = new JsonElementGenerator(0, new ObjectMapper())
+                .setNumberPolicy(NumberPolicy.NARROW);
+
+        jgen.writeStartObject();
+        jgen.writeNumberField("decimal", precise);
+        jgen.writeArrayFieldStart("array");
+        jgen.writeNumber(precise);
+        jgen.writeNumber("1e400");
+        jgen.writeEndArray();
+        jgen.writeEndObject();
+
+        JsonObject json = jgen.get();
+        assertThat(json.getValue("decimal"), is((Object) precise));
+        assertThat(json.getJsonArray("array").getValue(0), is((Object) precise));
+        assertThat(json.getJsonArray("array").getValue(1), is((Object) new BigDecimal("1e400")));
+    }
+
+    @Test
+    public void shouldApplyPolicyInDeserializers() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        om.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        om.registerModule(new VertxJsonModule().configureNumberPolicy(NumberPolicy.NARROW));
+
+        JsonObject json = om.readValue("{\"a\":0.5,\"b\":[100000000000000000000,3]}", JsonObject.class);
+
+        assertThat(json.getValue("a"), is((Object) 0.5));
+        assertThat(json.getJsonArray("b").getValue(0), is((Object) new BigInteger("100000000000000000000")));
+        assertThat(json.getJsonArray("b").getValue(1), is((Object) 3));
+    }
+
+    @Test
+    public void shouldApplyPolicyToFloatsInDeserializersIf_USE_BIG_DECIMAL_FOR_FLOATS_Enabled() throws IOException {
+        for (boolean lazy : new boolean[]{false, true}) {
+            ObjectMapper om = new ObjectMapper();
+            om.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+            om.registerModule(new VertxJsonModule().configureLazyObjects(lazy));
+
+            JsonObject json = om.readValue("{\"a\":0.1,\"b\":[1e2],\"c\":{\"d\":-2.50}}", JsonObject.class);
+
+            assertThat(json.getValue("a"), is((Object) new BigDecimal("0.1")));
+            assertThat(json.getJsonArray("b").getValue(0), is((Object) new BigDecimal("1e2")));
+            assertThat(json.getJsonObject("c").getValue("d"), is((Object) new BigDecimal("-2.50")));
+        }
+    }
+
+    @Test
+    public void shouldNotCopyExactDecimals() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        om.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        om.registerModule(new VertxJsonModule());
+
+        JsonObject json = om.readValue("{\"a\":0.1}", JsonObject.class);
+
+        try {
+            json.copy();
+        } catch (IllegalStateException e) {
+            return;
+        }
+        throw new AssertionError("tree with decimal has been copied");
+    }
+
+    @Test
+    public void shouldCopyDecimalsAsString() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        om.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        om.registerModule(new VertxJsonModule().configureNumberPolicy(NumberPolicy.STRING));
+
+        JsonObject json = om.readValue("{\"a\":0.1}", JsonObject.class);
+
+        assertThat(json.copy(), is(json));
+        assertThat(json.copy().getValue("a"), is((Object) "0.1"));
+    }
+
+    @Test
+    public void shouldKeepFloatsAsDoubleInDeserializersByDefault() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule());
+
+        JsonArray json = om.readValue("[0.1]", JsonArray.class);
+
+        assertThat(json.getValue(0), is((Object) 0.1));
+    }
+
+    @Test
+    public void shouldMarshallWithPolicy() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule());
+        ObjectMarshaller marshaller = new ObjectMarshaller(om, false, NumberPolicy.STRING);
+
+        Amount amount = new Amount();
+        amount.value = new BigDecimal("10.25");
+
+        JsonObject json = marshaller.marshall(amount);
+
+        assertThat(json.getString("value"), is("10.25"));
+        assertThat(marshaller.unmarshall(json, Amount.class).value, is(amount.value));
+    }
+
+    @Test
+    public void shouldMarshallDecimalsExactlyByDefault() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule());
+        ObjectMarshaller marshaller = new ObjectMarshaller(om);
+
+        Amount amount = new Amount();
+        amount.value = new BigDecimal("10.25");
+
+        JsonObject json = marshaller.marshall(amount);
+
+        assertThat(json.getValue("value"), is((Object) amount.value));
+        assertThat(marshaller.unmarshall(json, Amount.class).value, is(amount.value));
+    }
+
+    private static class Amount {
+        public BigDecimal value;
+    }
+}
@@ -0,0 +1,68 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.crunc.jackson.datatype.vertx.pojo.SamplePojo;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for (un-)marshalling {@link Buffer} with {@link ObjectMarshaller}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class ObjectMarshallerBufferTest {
+
+    private final ObjectMarshaller marshaller = new ObjectMarshaller(new ObjectMapper());
+
+    @Test
+    public void shouldMarshallToBuffer() throws IOException {
+        Buffer buffer = marshaller.marshallToBuffer(new SamplePojo("ä"));
+
+        assertThat(buffer.toString("UTF-8"), is("{\"message\":\"ä\"}"));
+    }
+
+    @Test
+    public void shouldAppendToBuffer() throws IOException {
+        Buffer buffer = Buffer.buffer("[");
+
+        marshaller.marshallTo(new SamplePojo("one"), buffer).appendString("]");
+
+        assertThat(buffer.toString("UTF-8"), is("[{\"message\":\"one\"}]"));
+    }
+
+    @Test
+    public void shouldUnmarshallBuffer() throws IOException {
+        Buffer buffer = Buffer.buffer("{\"message\":\"one\"}");
+
+        assertThat(marshaller.unmarshallFrom(buffer, SamplePojo.class), is(new SamplePojo("one")));
+    }
+
+    @Test
+    public void shouldUnmarshallDirectBuffer() throws IOException {
+        byte[] json = "[{\"message\":\"one\"},{\"message\":\"two\"}]".getBytes(StandardCharsets.UTF_8);
+        Buffer buffer = Buffer.buffer(Unpooled.directBuffer(json.length).writeBytes(json));
+
+        List<SamplePojo> pojos = marshaller.unmarshallFrom(buffer, new TypeReference<List<SamplePojo>>() {
+        });
+
+        assertThat(pojos, contains(new SamplePojo("one"), new SamplePojo("two")));
+    }
+
+    @Test
+    public void shouldRoundTripThroughBuffer() throws IOException {
+        SamplePojo pojo = new SamplePojo("round trip");
+
+        Buffer buffer = marshaller.marshallToBuffer(pojo);
+
+        assertThat(marshaller.unmarshallFrom(buffer, SamplePojo.class), is(pojo));
+    }
+}
@@ -0,0 +1,113 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.crunc.jackson.datatype.vertx.pojo.SamplePojo;
+import io.vertx.core.json.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static de.crunc.jackson.datatype.vertx.JsonArrayBuilder.array;
+import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for the JSON pointer based operations of {@link ObjectMarshaller}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class ObjectMarshallerPointerTest {
+
+    private ObjectMarshaller marshaller;
+
+    private JsonObject envelope;
+
+    @Before
+    public void setUp() {
+        marshaller = new ObjectMarshaller(new ObjectMapper());
+
+        envelope = object()
+                .put("header", object()
+                        .put("id", 42))
+                .put("payload", object()
+                        .put("items", array()
+                                .add(object()
+                                        .put("message", "first"))
+                                .add(object()
+                                        .put("message", "second")))
+                        .put("tags", array()
+                                .add("a")
+                                .add("b"))
+                        .putNull("nothing"))
+                .build();
+    }
+
+    @Test
+    public void shouldUnmarshallObjectAtPath() throws IOException {
+        SamplePojo pojo = marshaller.unmarshall(envelope, JsonPointer.compile("/payload/items/1"), SamplePojo.class);
+
+        assertThat(pojo, equalTo(new SamplePojo("second")));
+    }
+
+    @Test
+    public void shouldUnmarshallArrayAtPath() throws IOException {
+        List<SamplePojo> items = marshaller.unmarshall(envelope, JsonPointer.compile("/payload/items"),
+                new TypeReference<List<SamplePojo>>() {
+                });
+
+        assertThat(items, contains(new SamplePojo("first"), new SamplePojo("second")));
+    }
+
+    @Test
+    public void shouldUnmarshallScalarAtPath() throws IOException {
+        Integer id = marshaller.unmarshall(envelope, JsonPointer.compile("/header/id"), Integer.class);
+
+        assertThat(id, is(42));
+    }
+
+    @Test
+    public void shouldReturnNullForNullAtPath() throws IOException {
+        SamplePojo pojo = marshaller.unmarshall(envelope, JsonPointer.compile("/payload/nothing"), SamplePojo.class);
+
+        assertThat(pojo, is(nullValue()));
+    }
+
+    @Test
+    public void shouldReturnNullForMissingPath() throws IOException {
+        assertThat(marshaller.unmarshall(envelope, JsonPointer.compile("/payload/missing"), SamplePojo.class),
+                is(nullValue()));
+        assertThat(marshaller.unmarshall(envelope, JsonPointer.compile("/payload/items/7"), SamplePojo.class),
+                is(nullValue()));
+        assertThat(marshaller.unmarshall(envelope, JsonPointer.compile("/header/id/deeper"), SamplePojo.class),
+                is(nullValue()));
+    }
+
+    @Test
+    public void shouldUnmarshallMultiplePaths() throws IOException {
+        ObjectMapper om = marshaller.objectMapper();
+        JsonPointer first = JsonPointer.compile("/payload/items/0");
+        JsonPointer tags = JsonPointer.compile("/payload/tags");
+        JsonPointer missing = JsonPointer.compile("/missing");
+
+        Map<JsonPointer, JavaType> targets = new LinkedHashMap<JsonPointer, JavaType>();
+        targets.put(first, om.constructType(SamplePojo.class));
+        targets.put(tags, om.getTypeFactory().constructCollectionType(List.class, String.class));
+        targets.put(missing, om.constructType(SamplePojo.class));
+
+        Map<JsonPointer, Object> result = marshaller.unmarshall(envelope, targets);
+
+        assertThat(result.get(first), is((Object) new SamplePojo("first")));
+        assertThat(result.get(tags), is((Object) Arrays.asList("a", "b")));
+        assertThat(result.containsKey(missing), is(true));
+        assertThat(result.get(missing), is(nullValue()));
+    }
+}
@@ -43,4 +43,31 @@ public class ObjectMarshallerSampleTest {
 
         assertThat(pojo, equalTo(new SamplePojo("Hello pojo")));
     }
+
+    @Test
+    public void shouldUnmarshallRepeatedlyWithPooledParser() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectMarshaller marshaller = new ObjectMarshaller(mapper, true);
+
+        for (int i = 0; i < 3; ++i) {
+            JsonObject json = new JsonObject();
+            json.put("message", "Hello pojo " + i);
+
+            SamplePojo pojo = marshaller.unmarshall(json, SamplePojo.class);
+
+            assertThat(pojo, equalTo(new SamplePojo("Hello pojo " + i)));
+        }
+    }
+
+    @Test
+    public void shouldMarshallRepeatedlyWithPooledGenerator() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectMarshaller marshaller = new ObjectMarshaller(mapper, true);
+
+        JsonObject first = marshaller.marshall(new SamplePojo("Hello pojo 0"));
+        JsonObject second = marshaller.marshall(new SamplePojo("Hello pojo 1"));
+
+        assertThat(first, isJsonObject().prop("message", "Hello pojo 0"));
+        assertThat(second, isJsonObject().prop("message", "Hello pojo 1"));
+    }
 }
@@ -0,0 +1,105 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import de.crunc.jackson.datatype.vertx.pojo.SamplePojo;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static de.crunc.jackson.datatype.vertx.JsonArrayBuilder.array;
+import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for the element-wise (un-)marshalling of {@link ObjectMarshaller}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class ObjectMarshallerStreamingTest {
+
+    private final JsonArray batch = array()
+            .add(object()
+                    .put("message", "one"))
+            .addNull()
+            .add(object()
+                    .put("message", "three"))
+            .build();
+
+    @Test
+    public void unmarshallEachShouldHandOutEveryItem() throws IOException {
+        ObjectMarshaller marshaller = new ObjectMarshaller(new ObjectMapper(), true);
+        final List<SamplePojo> pojos = new ArrayList<SamplePojo>();
+
+        marshaller.unmarshallEach(batch, SamplePojo.class, pojos::add);
+
+        assertThat(pojos, contains(new SamplePojo("one"), null, new SamplePojo("three")));
+    }
+
+    @Test
+    public void unmarshallIteratorShouldUnmarshallLazily() {
+        ObjectMarshaller marshaller = new ObjectMarshaller(new ObjectMapper());
+
+        Iterator<SamplePojo> it = marshaller.unmarshallIterator(batch, SamplePojo.class);
+
+        assertThat(it.hasNext(), is(true));
+        assertThat(it.next(), is(new SamplePojo("one")));
+        assertThat(it.hasNext(), is(true));
+        assertThat(it.next(), is(nullValue()));
+        assertThat(it.hasNext(), is(true));
+        assertThat(it.next(), is(new SamplePojo("three")));
+        assertThat(it.hasNext(), is(false));
+    }
+
+    @Test
+    public void unmarshallIteratorShouldHandleScalars() {
+        ObjectMarshaller marshaller = new ObjectMarshaller(new ObjectMapper());
+
+        Iterator<Integer> it = marshaller.unmarshallIterator(array()
+                .add(1)
+                .add(2)
+                .build(), Integer.class);
+
+        assertThat(it.next(), is(1));
+        assertThat(it.next(), is(2));
+        assertThat(it.hasNext(), is(false));
+    }
+
+    @Test
+    public void unmarshallIteratorShouldReportFailures() {
+        ObjectMarshaller marshaller = new ObjectMarshaller(new ObjectMapper());
+
+        Iterator<SamplePojo> it = marshaller.unmarshallIterator(array()
+                .add(object()
+                        .put("unknown", true))
+                .build(), SamplePojo.class);
+
+        try {
+            it.next();
+        } catch (RuntimeJsonMappingException e) {
+            assertThat(e.getCause(), is(instanceOf(UnrecognizedPropertyException.class)));
+            return;
+        }
+        throw new AssertionError("failure has not been reported");
+    }
+
+    @Test
+    public void marshallEachShouldHandOutEveryObject() throws IOException {
+        ObjectMarshaller marshaller = new ObjectMarshaller(new ObjectMapper(), true);
+        List<JsonObject> objects = new ArrayList<JsonObject>();
+
+        marshaller.marshallEach(Arrays.asList(new SamplePojo("one"), new SamplePojo("two")), objects::add);
+
+        assertThat(objects.size(), is(2));
+        assertThat(objects.get(0).getString("message"), is("one"));
+        assertThat(objects.get(1).getString("message"), is("two"));
+    }
+}
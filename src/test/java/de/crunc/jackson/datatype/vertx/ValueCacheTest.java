@@ -0,0 +1,154 @@
+package de.crunc.jackson.datatype.vertx;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.crunc.jackson.datatype.vertx.generator.JsonElementGenerator;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link ValueCache}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class ValueCacheTest {
+
+    @Test
+    public void shouldCanonicalizeValues() {
+        ValueCache cache = new ValueCache(10, 8);
+        String first = new String("EUR");
+        Long number = 1000L;
+
+        assertThat(cache.canonicalize(first), is(sameInstance(first)));
+        assertThat(cache.canonicalize(new String("EUR")), is(sameInstance(first)));
+        assertThat(cache.canonicalize(number), is(sameInstance(number)));
+        assertThat(cache.canonicalize(Long.valueOf(1000L)), is(sameInstance(number)));
+        assertThat(cache.getHitCount(), is(2L));
+        assertThat(cache.getMissCount(), is(2L));
+        assertThat(cache.size(), is(2));
+    }
+
+    @Test
+    public void shouldNotCacheOtherValues() {
+        ValueCache cache = new ValueCache(10, 3);
+        String longer = new String("long");
+        BigDecimal decimal = new BigDecimal("1.5");
+
+        assertThat(cache.canonicalize(longer), is(sameInstance(longer)));
+        assertThat(cache.canonicalize(decimal), is(sameInstance(decimal)));
+        assertThat(cache.canonicalize(7), is(7));
+        assertThat(cache.canonicalize((Object) null), is(nullValue()));
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getMissCount(), is(0L));
+    }
+
+    @Test
+    public void shouldNotMixTypes() {
+        ValueCache cache = new ValueCache(10, 8);
+
+        cache.canonicalize(1000);
+
+        assertThat(cache.canonicalize(1000L), is(instanceOf(Long.class)));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        ValueCache cache = new ValueCache(2, 8);
+        String a = new String("a");
+        String c = new String("c");
+
+        cache.canonicalize(a);
+        cache.canonicalize("b");
+        cache.canonicalize(new String("a"));
+        cache.canonicalize(c);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.canonicalize(new String("a")), is(sameInstance(a)));
+        assertThat(cache.canonicalize(new String("c")), is(sameInstance(c)));
+    }
+
+    @Test
+    public void shouldShareValuesOfDeserializedObjects() throws IOException {
+        ValueCache cache = new ValueCache(100, 16);
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule().configureValueCache(cache));
+
+        JsonArray array = om.readValue("[{\"status\":\"ok\",\"code\":2000},{\"status\":\"ok\",\"code\":2000}]",
+                JsonArray.class);
+
+        JsonObject first = array.getJsonObject(0);
+        JsonObject second = array.getJsonObject(1);
+        assertThat(second.getString("status"), is(sameInstance(first.getString("status"))));
+        assertThat(second.getInteger("code"), is(sameInstance(first.getInteger("code"))));
+        assertThat(cache.getHitCount(), is(2L));
+    }
+
+    @Test
+    public void shouldShareValuesWithSerializedMapper() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule().configureValueCache(new ValueCache(100, 16)));
+
+        JsonArray array = serialized(om).readValue("[\"ok\",\"ok\"]", JsonArray.class);
+
+        assertThat(array.getValue(1), is(sameInstance(array.getValue(0))));
+    }
+
+    @Test
+    public void shouldKeepConfigurationOfSerializedCache() throws Exception {
+        ValueCache cache = new ValueCache(10, 3);
+        cache.canonicalize("abc");
+
+        ValueCache copy = serialized(cache);
+        String value = new String("abc");
+
+        assertThat(copy.getMaxSize(), is(10));
+        assertThat(copy.size(), is(0));
+        assertThat(copy.canonicalize(value), is(sameInstance(value)));
+        assertThat(copy.canonicalize(new String("abc")), is(sameInstance(value)));
+        assertThat(copy.canonicalize(new String("long")), is(not(sameInstance(value))));
+        assertThat(copy.size(), is(1));
+    }
+
+    @Test
+    public void shouldShareValuesOfGeneratedTrees() throws IOException {
+        ValueCache cache = new ValueCache(100, 16);
+        JsonElementGenerator jgen = new JsonElementGenerator(0, new ObjectMapper()).setValueCache(cache);
+
+        jgen.writeStartArray();
+        jgen.writeString(new String("ok"));
+        jgen.writeString(new String("ok"));
+        jgen.writeNumber(123456789L);
+        jgen.writeNumber(123456789L);
+        jgen.writeEndArray();
+
+        JsonArray array = jgen.get();
+        assertThat(array.getValue(1), is(sameInstance(array.getValue(0))));
+        assertThat(array.getValue(3), is(sameInstance(array.getValue(2))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonPositiveSize() {
+        new ValueCache(0, 8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T serialized(T value) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+}
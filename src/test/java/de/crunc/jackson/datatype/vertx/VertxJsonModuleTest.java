@@ -1,16 +1,29 @@
 package de.crunc.jackson.datatype.vertx;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.crunc.jackson.datatype.vertx.parser.JsonElementParser;
 import org.junit.Test;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
 
 import static de.crunc.hamcrest.json.JsonMatchers.isJsonArray;
 import static de.crunc.hamcrest.json.JsonMatchers.isJsonObject;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 /**
  * Unit test for {@link VertxJsonModule}
@@ -60,4 +73,135 @@ public class VertxJsonModuleTest {
 
         assertThat(object, isJsonArray());
     }
+
+    @Test
+    public void shouldReadCreatorPropertiesFirstFromJsonObject() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule().configureCreatorPropertiesFirst(true));
+
+        JsonObject json = JsonObjectBuilder.object()
+                .put("note", "outer")
+                .put("inner", JsonObjectBuilder.object()
+                        .put("note", "inner")
+                        .put("name", "b"))
+                .put("name", "a")
+                .build();
+
+        Immutable value = om.readValue(new JsonElementParser(json), Immutable.class);
+
+        assertThat(value.name, is("a"));
+        assertThat(value.note, is("outer"));
+        assertThat(value.inner.name, is("b"));
+        assertThat(value.inner.note, is("inner"));
+        assertThat(value.inner.inner, is(nullValue()));
+    }
+
+    @Test
+    public void shouldReadCreatorPropertiesFirstWithSerializedMapper() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule().configureCreatorPropertiesFirst(true));
+
+        Immutable value = serialized(om).readValue(new JsonElementParser(JsonObjectBuilder.object()
+                .put("note", "note")
+                .put("name", "a")
+                .build()), Immutable.class);
+
+        assertThat(value.name, is("a"));
+        assertThat(value.note, is("note"));
+    }
+
+    public static class Immutable {
+
+        private final String name;
+
+        private final Immutable inner;
+
+        public String note;
+
+        @JsonCreator
+        public Immutable(@JsonProperty("name") String name, @JsonProperty("inner") Immutable inner) {
+            this.name = name;
+            this.inner = inner;
+        }
+    }
+
+    @Test
+    public void shouldReadTypePropertyFirstFromJsonObject() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule());
+
+        JsonObject json = JsonObjectBuilder.object()
+                .put("events", JsonArrayBuilder.array()
+                        .add(JsonObjectBuilder.object()
+                                .put("id", 1)
+                                .put("name", "created")
+                                .put("@type", "created"))
+                        .add(JsonObjectBuilder.object()
+                                .put("id", 2)
+                                .put("@type", "deleted")))
+                .put("last", JsonObjectBuilder.object()
+                        .put("id", 3)
+                        .put("@type", "deleted"))
+                .build();
+
+        Envelope envelope = om.readValue(new JsonElementParser(json), Envelope.class);
+
+        assertThat(envelope.events.size(), is(2));
+        assertThat(envelope.events.get(0), is(instanceOf(Created.class)));
+        assertThat(envelope.events.get(0).id, is(1));
+        assertThat(((Created) envelope.events.get(0)).name, is("created"));
+        assertThat(envelope.events.get(1), is(instanceOf(Deleted.class)));
+        assertThat(envelope.events.get(1).id, is(2));
+        assertThat(envelope.last, is(instanceOf(Deleted.class)));
+        assertThat(envelope.last.id, is(3));
+    }
+
+    @Test
+    public void shouldReadTypePropertyFirstWithSerializedMapper() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule());
+
+        Event event = serialized(om).readValue(new JsonElementParser(JsonObjectBuilder.object()
+                .put("id", 1)
+                .put("@type", "deleted")
+                .build()), Event.class);
+
+        assertThat(event, is(instanceOf(Deleted.class)));
+        assertThat(event.id, is(1));
+    }
+
+    public static class Envelope {
+
+        public List<Event> events;
+
+        public Event last;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "@type")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Created.class, name = "created"),
+            @JsonSubTypes.Type(value = Deleted.class, name = "deleted")
+    })
+    public static abstract class Event {
+
+        public int id;
+    }
+
+    public static class Created extends Event {
+
+        public String name;
+    }
+
+    public static class Deleted extends Event {
+    }
+
+    private static ObjectMapper serialized(ObjectMapper om) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(om);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (ObjectMapper) in.readObject();
+        }
+    }
 }
@@ -1,8 +1,13 @@
 package de.crunc.jackson.datatype.vertx.generator;
 
 import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.google.common.io.BaseEncoding;
+import io.vertx.core.json.JsonArray;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -12,6 +17,7 @@ import java.math.BigDecimal;
 
 import static de.crunc.hamcrest.json.JsonMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 
 /**
  * Unit test for {@link JsonElementGenerator}.
@@ -165,4 +171,43 @@ public class JsonElementGeneratorArrayTest {
                 0x35, 0x36, 0x37, 0x38
         });
     }
+
+    @Test
+    public void shouldWriteScalarObjectsWithCustomSerializerAtArray() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new SimpleModule().addSerializer(String.class, new JsonSerializer<String>() {
+            @Override
+            public void serialize(String value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+                jgen.writeString(value.toUpperCase());
+            }
+        }));
+        jgen = new JsonElementGenerator(0, om);
+
+        jgen.writeStartArray();
+        {
+            jgen.writeObject("foo");
+            jgen.writeObject(1.5);
+        }
+        jgen.writeEndArray();
+
+        JsonArray array = jgen.get();
+        assertThat(array.getString(0), is("FOO"));
+        assertThat(array.getDouble(1), is(1.5));
+    }
+
+    @Test
+    public void shouldWriteScalarObjectsWithoutCodecAtArray() throws IOException {
+        jgen = new JsonElementGenerator(0, null);
+
+        jgen.writeStartArray();
+        {
+            jgen.writeObject("foo");
+            jgen.writeObject(null);
+        }
+        jgen.writeEndArray();
+
+        assertThat(jgen.get(), isJsonArray()
+                .item("foo")
+                .item(null));
+    }
 }
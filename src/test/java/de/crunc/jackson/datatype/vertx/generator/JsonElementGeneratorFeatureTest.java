@@ -1,8 +1,12 @@
 package de.crunc.jackson.datatype.vertx.generator;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.crunc.jackson.datatype.vertx.ObjectMarshaller;
+import io.vertx.core.json.JsonObject;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -14,6 +18,8 @@ import java.math.BigInteger;
 import static de.crunc.hamcrest.json.JsonMatchers.isJsonArray;
 import static de.crunc.hamcrest.json.JsonMatchers.isJsonObject;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 
 /**
  * Unit test for {@link JsonElementGenerator}.
@@ -215,6 +221,54 @@ public class JsonElementGeneratorFeatureTest {
                 .prop("私はガラスを食べられます。それは私を傷つけません", "watashihagarasuotaberaremasu.sorehawatashiokizutsukemasen"));
     }
 
+    @Test
+    public void shouldKeepAsciiStringIf_ESCAPE_NON_ASCII_Enabled() throws IOException {
+        String value = "plain ascii \"text\"";
+        jgen.enable(JsonGenerator.Feature.ESCAPE_NON_ASCII);
+        jgen.writeStartObject();
+        jgen.writeStringField("StringValue", value);
+        jgen.writeEndObject();
+
+        JsonObject object = jgen.get();
+        assertThat(object.getString("StringValue"), is(sameInstance(value)));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CharacterEscapes
+    // -----------------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void shouldWriteStringWithCustomEscapes() throws IOException {
+        jgen.setCharacterEscapes(new HtmlEscapes());
+        jgen.writeStartObject();
+        jgen.writeStringField("<b>", "a < b & \u00E9");
+        jgen.writeEndObject();
+
+        assertThat(jgen.get(), isJsonObject()
+                .prop("&lt;b&gt;", "a &lt; b &amp; &eacute;"));
+    }
+
+    @Test
+    public void shouldPreferCustomEscapesIf_ESCAPE_NON_ASCII_Enabled() throws IOException {
+        jgen.enable(JsonGenerator.Feature.ESCAPE_NON_ASCII);
+        jgen.setCharacterEscapes(new HtmlEscapes());
+        jgen.writeStartObject();
+        jgen.writeStringField("StringValue", "\u00E9\u00E8<");
+        jgen.writeEndObject();
+
+        assertThat(jgen.get(), isJsonObject()
+                .prop("StringValue", "&eacute;\\u00E8&lt;"));
+    }
+
+    @Test
+    public void shouldRetrieveCharacterEscapes() {
+        CharacterEscapes escapes = new HtmlEscapes();
+
+        jgen.setCharacterEscapes(escapes);
+
+        assertThat(jgen.getCharacterEscapes(), is(sameInstance(escapes)));
+    }
+
     // -----------------------------------------------------------------------------------------------------------------
     // QUOTE_NON_NUMERIC_NUMBERS
     // -----------------------------------------------------------------------------------------------------------------
@@ -240,4 +294,37 @@ public class JsonElementGeneratorFeatureTest {
         assertThat(jgen.get(), isJsonObject()
                 .prop("FloatValue", Float.NaN));
     }
+
+    private static class HtmlEscapes extends CharacterEscapes {
+
+        private final int[] codes;
+
+        HtmlEscapes() {
+            codes = standardAsciiEscapesForJSON();
+            codes['<'] = ESCAPE_CUSTOM;
+            codes['>'] = ESCAPE_CUSTOM;
+            codes['&'] = ESCAPE_CUSTOM;
+        }
+
+        @Override
+        public int[] getEscapeCodesForAscii() {
+            return codes;
+        }
+
+        @Override
+        public SerializableString getEscapeSequence(int ch) {
+            switch (ch) {
+                case '<':
+                    return new SerializedString("&lt;");
+                case '>':
+                    return new SerializedString("&gt;");
+                case '&':
+                    return new SerializedString("&amp;");
+                case '\u00E9':
+                    return new SerializedString("&eacute;");
+                default:
+                    return null;
+            }
+        }
+    }
 }
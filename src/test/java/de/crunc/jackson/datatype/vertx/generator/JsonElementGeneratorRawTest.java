@@ -0,0 +1,160 @@
+package de.crunc.jackson.datatype.vertx.generator;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.crunc.jackson.datatype.vertx.ObjectMarshaller;
+import de.crunc.jackson.datatype.vertx.RawJson;
+import de.crunc.jackson.datatype.vertx.VertxJsonModule;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static de.crunc.jackson.datatype.vertx.JsonArrayBuilder.array;
+import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for writing raw JSON and UTF-8 encoded strings to a {@link JsonElementGenerator}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class JsonElementGeneratorRawTest {
+
+    private ObjectMapper om;
+
+    private ObjectMarshaller marshaller;
+
+    private JsonElementGenerator jgen;
+
+    @Before
+    public void setUp() {
+        om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule());
+        marshaller = new ObjectMarshaller(om);
+        jgen = new JsonElementGenerator(0, om);
+    }
+
+    @Test
+    public void shouldKeepRawJsonInTree() throws IOException {
+        Cached cached = new Cached();
+        cached.id = "c1";
+        cached.response = RawJson.of("{\"status\":\"ok\",\"items\":[1,2]}".getBytes(StandardCharsets.UTF_8));
+
+        JsonObject json = marshaller.marshall(cached);
+
+        assertThat(json.getMap().get("response"), is(sameInstance((Object) cached.response)));
+        assertThat(json.encode(), is("{\"id\":\"c1\",\"response\":{\"status\":\"ok\",\"items\":[1,2]}}"));
+    }
+
+    @Test
+    public void shouldDecodeRawJsonWhenRead() throws IOException {
+        Cached cached = new Cached();
+        cached.id = "c1";
+        cached.response = RawJson.of(Buffer.buffer("{\"status\":\"ok\",\"items\":[1,2]}"));
+
+        Decoded decoded = marshaller.unmarshall(marshaller.marshall(cached), Decoded.class);
+
+        assertThat(decoded.id, is("c1"));
+        assertThat(decoded.response, is(object()
+                .put("status", "ok")
+                .put("items", array()
+                        .add(1)
+                        .add(2))
+                .build()));
+    }
+
+    @Test
+    public void shouldReadRawJsonFromTree() throws IOException {
+        JsonObject json = object()
+                .put("id", "c1")
+                .put("response", object()
+                        .put("status", "ok"))
+                .build();
+
+        Cached cached = marshaller.unmarshall(json, Cached.class);
+
+        assertThat(cached.response.toString(), is("{\"status\":\"ok\"}"));
+    }
+
+    @Test
+    public void shouldWriteJsonRawValue() throws IOException {
+        Annotated annotated = new Annotated();
+        annotated.payload = "[true,null]";
+
+        JsonObject json = marshaller.marshall(annotated);
+        JsonObject read = marshaller.unmarshall(json, JsonObject.class);
+
+        assertThat(json.getMap().get("payload"), is(instanceOf(RawJson.class)));
+        assertThat(read.getJsonArray("payload"), is(array()
+                .add(true)
+                .addNull()
+                .build()));
+    }
+
+    @Test
+    public void shouldWriteRawJsonBytesToTextGenerator() throws IOException {
+        Cached cached = new Cached();
+        cached.id = "c1";
+        cached.response = RawJson.of("x[{\"a\" : 1}]x".getBytes(StandardCharsets.UTF_8), 1, 11);
+
+        String json = new String(om.writeValueAsBytes(cached), StandardCharsets.UTF_8);
+
+        assertThat(json, is("{\"id\":\"c1\",\"response\":[{\"a\" : 1}]}"));
+    }
+
+    @Test
+    public void shouldWriteUTF8Strings() throws IOException {
+        byte[] plain = "xä\"y".getBytes(StandardCharsets.UTF_8);
+        byte[] escaped = "\\u00e4\\\"\\n\\/".getBytes(StandardCharsets.UTF_8);
+
+        jgen.writeStartArray();
+        jgen.writeUTF8String(plain, 1, plain.length - 2);
+        jgen.writeRawUTF8String(escaped, 0, escaped.length);
+        jgen.writeEndArray();
+
+        assertThat(jgen.<JsonArray>get(), is(array()
+                .add("ä\"")
+                .add("ä\"\n/")
+                .build()));
+    }
+
+    @Test
+    public void shouldKeepCauseOfDecodeFailures() {
+        try {
+            RawJson.of("{\"status\":}").decode();
+        } catch (DecodeException e) {
+            assertThat(e.getCause(), is(instanceOf(JsonParseException.class)));
+            return;
+        }
+        throw new AssertionError("failure has not been reported");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotSupportRaw() throws IOException {
+        jgen.writeStartArray();
+        jgen.writeRaw("1");
+    }
+
+    private static class Cached {
+        public String id;
+        public RawJson response;
+    }
+
+    private static class Decoded {
+        public String id;
+        public JsonObject response;
+    }
+
+    private static class Annotated {
+        @JsonRawValue
+        public String payload;
+    }
+}
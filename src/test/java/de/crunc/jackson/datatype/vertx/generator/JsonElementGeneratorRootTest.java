@@ -3,14 +3,19 @@ package de.crunc.jackson.datatype.vertx.generator;
 import com.fasterxml.jackson.core.Base64Variants;
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.vertx.core.json.JsonArray;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import static de.crunc.hamcrest.json.JsonMatchers.isJsonObject;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 /**
  * Unit test for {@link JsonElementGenerator}.
@@ -88,4 +93,64 @@ public class JsonElementGeneratorRootTest {
     public void shouldNotWriteBinaryAtRoot() throws IOException {
         jgen.writeBinary("Not allowed".getBytes());
     }
+
+    @Test
+    public void shouldWriteAnotherTreeAfterReset() throws IOException {
+        jgen.writeStartObject();
+        jgen.writeFieldName("first");
+        jgen.writeStartArray();
+
+        jgen.reset();
+
+        jgen.writeStartObject();
+        jgen.writeNumberField("second", 2);
+        jgen.writeEndObject();
+
+        assertThat(jgen.get(), isJsonObject()
+                .prop("second", 2));
+    }
+
+    @Test
+    public void shouldWriteDeeplyNestedTree() throws IOException {
+        int depth = 100;
+
+        for (int i = 0; i < depth; ++i) {
+            jgen.writeStartArray();
+        }
+        jgen.writeNumber(42);
+        for (int i = 0; i < depth; ++i) {
+            jgen.writeEndArray();
+        }
+
+        Object element = jgen.get();
+        for (int i = 0; i < depth; ++i) {
+            element = ((JsonArray) element).getValue(0);
+        }
+        assertThat(element, is((Object) 42));
+    }
+
+    @Test
+    public void shouldHandOutEveryRootInSequenceMode() throws IOException {
+        JsonArray roots = new JsonArray();
+        jgen.setRootConsumer(roots.getList()::add);
+
+        ObjectMapper om = new ObjectMapper();
+        SequenceWriter writer = om.writer().writeValues(jgen);
+        writer.write(Collections.singletonMap("first", 1));
+        writer.write(Collections.singletonList("second"));
+        writer.write(Collections.singletonMap("third", 3));
+        writer.close();
+
+        assertThat(roots.size(), is(3));
+        assertThat(roots.getJsonObject(0).getInteger("first"), is(1));
+        assertThat(roots.getJsonArray(1).getString(0), is("second"));
+        assertThat(roots.getJsonObject(2).getInteger("third"), is(3));
+        assertThat(jgen.get(), is(nullValue()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotSwitchSequenceModeWhileGenerating() throws IOException {
+        jgen.writeStartObject();
+        jgen.setRootConsumer(root -> { });
+    }
 }
@@ -0,0 +1,95 @@
+package de.crunc.jackson.datatype.vertx.generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit test for the container sizing of {@link JsonElementGenerator}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class JsonElementGeneratorSizeHintTest {
+
+    private ObjectMapper om;
+
+    @Before
+    public void setUp() {
+        om = new ObjectMapper();
+    }
+
+    @Test
+    public void shouldWriteSizedArray() throws IOException {
+        JsonElementGenerator jgen = new JsonElementGenerator(0, om);
+
+        jgen.writeStartArray(3);
+        jgen.writeNumber(1);
+        jgen.writeNumber(2);
+        jgen.writeNumber(3);
+        jgen.writeNumber(4);
+        jgen.writeEndArray();
+
+        JsonArray array = jgen.get();
+        assertThat(array.getList(), is((List<Object>) Arrays.<Object>asList(1, 2, 3, 4)));
+    }
+
+    @Test
+    public void shouldKeepStructureWhenContainersAreResized() throws IOException {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        List<Object> list = new ArrayList<Object>();
+        for (int i = 0; i < 20; ++i) {
+            map.put("field" + i, i);
+            list.add(i);
+        }
+        Map<String, Object> root = new LinkedHashMap<String, Object>();
+        root.put("first", 0);
+        root.put("map", map);
+        root.put("list", list);
+        root.put("nested", new Object[]{map, list, new Wide(), new Wide()});
+        root.put("last", 1);
+
+        JsonElementGenerator jgen = new JsonElementGenerator(0, om);
+        om.writeValue(jgen, root);
+        JsonObject object = jgen.get();
+
+        assertThat(object.fieldNames(), contains("first", "map", "list", "nested", "last"));
+        assertThat(object.getJsonObject("map").getMap(), is(map));
+        assertThat(object.getJsonArray("list").getList(), is(list));
+        JsonArray nested = object.getJsonArray("nested");
+        assertThat(nested.size(), is(4));
+        assertThat(nested.getJsonObject(0).getMap(), is(map));
+        assertThat(nested.getJsonArray(1).getList(), is(list));
+        assertThat(nested.getJsonObject(2).size(), is(15));
+        assertThat(nested.getJsonObject(3).getInteger("f15"), is(15));
+    }
+
+    @Test
+    public void shouldWriteRootBeanWithLearnedSize() throws IOException {
+        for (int i = 0; i < 3; ++i) {
+            JsonElementGenerator jgen = new JsonElementGenerator(0, om);
+            om.writeValue(jgen, new Wide());
+            JsonObject object = jgen.get();
+
+            assertThat(object.size(), is(15));
+            assertThat(object.getInteger("f1"), is(1));
+        }
+    }
+
+    public static class Wide {
+        public int f1 = 1, f2 = 2, f3 = 3, f4 = 4, f5 = 5, f6 = 6, f7 = 7, f8 = 8;
+        public int f9 = 9, f10 = 10, f11 = 11, f12 = 12, f13 = 13, f14 = 14, f15 = 15;
+    }
+}
@@ -0,0 +1,173 @@
+package de.crunc.jackson.datatype.vertx.generator;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.crunc.jackson.datatype.vertx.ObjectMarshaller;
+import de.crunc.jackson.datatype.vertx.VertxJsonModule;
+import de.crunc.jackson.datatype.vertx.parser.JsonElementParser;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static de.crunc.hamcrest.json.JsonMatchers.isJsonObject;
+import static de.crunc.jackson.datatype.vertx.JsonArrayBuilder.array;
+import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for attaching subtrees to the tree of a {@link JsonElementGenerator}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class JsonElementGeneratorSubtreeTest {
+
+    private ObjectMapper om;
+
+    private JsonElementGenerator jgen;
+
+    @Before
+    public void setUp() {
+        om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule());
+        jgen = new JsonElementGenerator(0, om);
+    }
+
+    @Test
+    public void shouldAttachCopiesOfSubtreesOfPojo() throws IOException {
+        Extended pojo = new Extended();
+        pojo.name = "pojo";
+        pojo.extensions = object()
+                .put("foo", "bar")
+                .build();
+        pojo.tags = array()
+                .add("a")
+                .build();
+
+        JsonObject json = new ObjectMarshaller(om).marshall(pojo);
+
+        json.getJsonObject("extensions").put("added", true);
+        json.getJsonArray("tags").add("b");
+
+        assertThat(json.getString("name"), is("pojo"));
+        assertThat(pojo.extensions, is(object()
+                .put("foo", "bar")
+                .build()));
+        assertThat(pojo.tags, is(array()
+                .add("a")
+                .build()));
+    }
+
+    @Test
+    public void shouldCopySubtreesByDefault() throws IOException {
+        JsonObject nested = object()
+                .put("foo", "bar")
+                .build();
+        JsonObject subtree = new JsonObject();
+        subtree.put("nested", nested);
+
+        jgen.writeStartArray();
+        jgen.writeObject(subtree);
+        jgen.writeEndArray();
+
+        JsonObject copy = jgen.<JsonArray>get().getJsonObject(0);
+        assertThat(copy, is(equalTo(subtree)));
+        assertThat(copy, is(not(sameInstance(subtree))));
+        assertThat(copy.getJsonObject("nested"), is(not(sameInstance(nested))));
+    }
+
+    @Test
+    public void shouldShareSubtreesIfConfigured() throws IOException {
+        JsonObject subtree = object()
+                .put("foo", "bar")
+                .build();
+        JsonArray list = array()
+                .add(1)
+                .build();
+
+        jgen.setShareSubtrees(true);
+        jgen.writeStartObject();
+        jgen.writeFieldName("object");
+        jgen.writeObject(subtree);
+        jgen.writeFieldName("array");
+        jgen.writeObject(list);
+        jgen.writeEndObject();
+
+        JsonObject json = jgen.get();
+        assertThat(json.getJsonObject("object"), is(sameInstance(subtree)));
+        assertThat(json.getJsonArray("array"), is(sameInstance(list)));
+    }
+
+    @Test
+    public void shouldNotReturnRootSubtreeItself() throws IOException {
+        JsonObject subtree = object()
+                .put("foo", "bar")
+                .build();
+
+        jgen.writeObject(subtree);
+
+        assertThat(jgen.<JsonObject>get(), is(equalTo(subtree)));
+        assertThat(jgen.<JsonObject>get(), is(not(sameInstance(subtree))));
+    }
+
+    @Test
+    public void shouldNotShareSubtreesAfterReset() throws IOException {
+        JsonObject subtree = new JsonObject();
+
+        jgen.setShareSubtrees(true);
+        jgen.reset();
+        jgen.writeObject(subtree);
+
+        assertThat(jgen.isShareSubtrees(), is(false));
+        assertThat(jgen.<JsonObject>get(), is(not(sameInstance(subtree))));
+    }
+
+    @Test
+    public void shouldWriteSubtreesFieldByFieldIf_ESCAPE_NON_ASCII_Enabled() throws IOException {
+        JsonObject subtree = object()
+                .put("füß", "bar")
+                .build();
+
+        jgen.enable(JsonGenerator.Feature.ESCAPE_NON_ASCII);
+        om.writeValue(jgen, subtree);
+
+        assertThat(jgen.get(), isJsonObject()
+                .prop("f\\u00FC\\u00DF", "bar"));
+    }
+
+    @Test
+    public void shouldCopyStructureOfJsonElementParserAsWhole() throws IOException {
+        JsonObject nested = object()
+                .put("foo", "bar")
+                .build();
+        JsonObject tree = new JsonObject();
+        tree.put("nested", nested);
+        tree.put("after", 1);
+        JsonElementParser jp = new JsonElementParser(tree);
+
+        jgen.setShareSubtrees(true);
+        jp.nextToken();
+        jgen.writeStartObject();
+        jp.nextToken();
+        jgen.copyCurrentStructure(jp);
+        jp.nextToken();
+        jgen.copyCurrentStructure(jp);
+        jgen.writeEndObject();
+
+        JsonObject copy = jgen.get();
+        assertThat(copy.getJsonObject("nested"), is(sameInstance(nested)));
+        assertThat(copy.getInteger("after"), is(1));
+    }
+
+    public static class Extended {
+
+        public String name;
+
+        public JsonObject extensions;
+
+        public JsonArray tags;
+    }
+}
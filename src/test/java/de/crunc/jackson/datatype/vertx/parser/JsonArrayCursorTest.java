@@ -0,0 +1,113 @@
+package de.crunc.jackson.datatype.vertx.parser;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import static com.fasterxml.jackson.core.JsonToken.*;
+import static de.crunc.jackson.datatype.vertx.JsonArrayBuilder.array;
+import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link JsonArrayCursor}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class JsonArrayCursorTest {
+
+    private JsonArrayCursor cursor;
+
+    @Test
+    public void shouldTraverseItemsByIndex() {
+        cursor = new JsonArrayCursor(array()
+                .add(42)
+                .add("foo")
+                .addNull()
+                .build(), null);
+
+        assertThat(cursor.getCurrentName(), is(nullValue()));
+        assertThat(cursor.currentElement(), is(nullValue()));
+
+        assertThat(cursor.nextToken(), is(VALUE_NUMBER_INT));
+        assertThat(cursor.getCurrentName(), is("0"));
+        assertThat(cursor.getCurrentIndex(), is(0));
+        assertThat((Integer) cursor.currentElement(), is(42));
+
+        assertThat(cursor.nextToken(), is(VALUE_STRING));
+        assertThat(cursor.getCurrentName(), is("1"));
+        assertThat((String) cursor.currentElement(), is("foo"));
+
+        assertThat(cursor.nextToken(), is(VALUE_NULL));
+        assertThat(cursor.getCurrentName(), is("2"));
+        assertThat(cursor.currentElement(), is(nullValue()));
+
+        assertThat(cursor.nextToken(), is(nullValue()));
+        assertThat(cursor.currentElement(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldWrapRawMapsAndLists() {
+        JsonArray jsonArray = new JsonArray(new ArrayList<Object>(Arrays.asList(
+                new HashMap<String, Object>(),
+                new ArrayList<Object>())));
+        cursor = new JsonArrayCursor(jsonArray, null);
+
+        assertThat(cursor.nextToken(), is(START_OBJECT));
+        assertThat(cursor.currentElement(), is(instanceOf(JsonObject.class)));
+
+        assertThat(cursor.nextToken(), is(START_ARRAY));
+        assertThat(cursor.currentElement(), is(instanceOf(JsonArray.class)));
+
+        assertThat(cursor.nextToken(), is(nullValue()));
+    }
+
+    @Test
+    public void overriddenNameShouldOnlyApplyToCurrentItem() {
+        cursor = new JsonArrayCursor(array()
+                .add(1)
+                .add(2)
+                .build(), null);
+
+        assertThat(cursor.nextToken(), is(VALUE_NUMBER_INT));
+        cursor.overrideCurrentName("first");
+        assertThat(cursor.getCurrentName(), is("first"));
+
+        assertThat(cursor.nextToken(), is(VALUE_NUMBER_INT));
+        assertThat(cursor.getCurrentName(), is("1"));
+    }
+
+    @Test
+    public void skipChildrenShouldJumpToEnd() {
+        cursor = new JsonArrayCursor(array()
+                .add(1)
+                .add(object())
+                .add(3)
+                .build(), null);
+
+        cursor.skipChildren();
+
+        assertThat(cursor.nextToken(), is(nullValue()));
+        assertThat(cursor.currentElement(), is(nullValue()));
+    }
+
+    @Test
+    public void skipChildrenShouldJumpToEndAfterTraversalStarted() {
+        cursor = new JsonArrayCursor(array()
+                .add(1)
+                .add(2)
+                .add(3)
+                .build(), null);
+
+        assertThat(cursor.nextToken(), is(VALUE_NUMBER_INT));
+
+        cursor.skipChildren();
+
+        assertThat(cursor.nextToken(), is(nullValue()));
+    }
+}
@@ -0,0 +1,144 @@
+package de.crunc.jackson.datatype.vertx.parser;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.crunc.jackson.datatype.vertx.VertxJsonModule;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.fasterxml.jackson.core.JsonToken.*;
+import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
+import static de.crunc.jackson.datatype.vertx.matcher.JsonParserMatchers.nextToken;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for the binary accessors of {@link JsonElementParser}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class JsonElementParserBinaryTest extends JsonElementParserBaseTest {
+
+    private static final byte[] BYTES = {1, 2, 3, -1, 0, 42, 17};
+
+    private JsonParser jp;
+
+    @Test
+    public void shouldHandOutEmbeddedBytesWithoutCopy() throws IOException {
+        jp = createParser(new JsonArray(items(BYTES)));
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(VALUE_EMBEDDED_OBJECT));
+        assertThat(jp.getEmbeddedObject(), is(sameInstance((Object) BYTES)));
+        assertThat(jp.getBinaryValue(), is(sameInstance(BYTES)));
+    }
+
+    @Test
+    public void shouldHandOutEmbeddedBuffer() throws IOException {
+        Buffer buffer = Buffer.buffer(BYTES);
+        jp = createParser(new JsonArray(items(buffer)));
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(VALUE_EMBEDDED_OBJECT));
+        assertThat(jp.getEmbeddedObject(), is(sameInstance((Object) buffer)));
+        assertThat(jp.getBinaryValue(), is(BYTES));
+        assertThat(jp.getBinaryValue(), is(sameInstance(jp.getBinaryValue())));
+    }
+
+    @Test
+    public void shouldStreamEmbeddedBuffer() throws IOException {
+        jp = createParser(new JsonArray(items(Buffer.buffer(BYTES))));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(VALUE_EMBEDDED_OBJECT));
+        assertThat(jp.readBinaryValue(out), is(BYTES.length));
+        assertThat(out.toByteArray(), is(BYTES));
+    }
+
+    @Test
+    public void shouldDecodeBase64Strings() throws IOException {
+        jp = createParser(new JsonArray(items("AQID/wAqEQ==", "AQID_wAqEQ", " AQID\n/wAq EQ== ", "")));
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(VALUE_STRING));
+        assertThat(jp.getBinaryValue(), is(BYTES));
+        assertThat(jp.getBinaryValue(), is(sameInstance(jp.getBinaryValue())));
+        assertThat(jp, nextToken(VALUE_STRING));
+        assertThat(jp.getBinaryValue(Base64Variants.MODIFIED_FOR_URL), is(BYTES));
+        assertThat(jp, nextToken(VALUE_STRING));
+        assertThat(jp.getBinaryValue(), is(BYTES));
+        assertThat(jp, nextToken(VALUE_STRING));
+        assertThat(jp.getBinaryValue(), is(new byte[0]));
+    }
+
+    @Test
+    public void shouldStreamLargeBase64Strings() throws IOException {
+        byte[] data = new byte[10007];
+        new Random(4711).nextBytes(data);
+        jp = createParser(new JsonArray(items(Base64Variants.getDefaultVariant().encode(data))));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(VALUE_STRING));
+        assertThat(jp.readBinaryValue(out), is(data.length));
+        assertThat(out.toByteArray(), is(data));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void shouldRejectIllegalBase64() throws IOException {
+        jp = createParser(new JsonArray(items("AQ*D")));
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(VALUE_STRING));
+        jp.getBinaryValue();
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void shouldRejectMissingPadding() throws IOException {
+        jp = createParser(new JsonArray(items("AQID/wAqEQ")));
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(VALUE_STRING));
+        jp.getBinaryValue(Base64Variants.MIME_NO_LINEFEEDS);
+    }
+
+    @Test
+    public void shouldMapBinaryPojoProperties() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new VertxJsonModule());
+        Buffer buffer = Buffer.buffer(BYTES);
+
+        JsonObject tree = object()
+                .put("bytes", "AQID/wAqEQ==")
+                .build();
+        tree.getMap().put("buffer", buffer);
+
+        Binary fromTree = om.readValue(new JsonElementParser(tree), Binary.class);
+
+        assertThat(fromTree.bytes, is(BYTES));
+        assertThat(fromTree.buffer, is(sameInstance(buffer)));
+    }
+
+    private static List<Object> items(Object... items) {
+        return new ArrayList<Object>(Arrays.asList(items));
+    }
+
+    public static class Binary {
+
+        public byte[] bytes;
+
+        public Buffer buffer;
+    }
+}
@@ -0,0 +1,112 @@
+package de.crunc.jackson.datatype.vertx.parser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static com.fasterxml.jackson.core.JsonToken.*;
+import static de.crunc.jackson.datatype.vertx.JsonArrayBuilder.array;
+import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
+import static de.crunc.jackson.datatype.vertx.matcher.JsonParserMatchers.hasCurrentToken;
+import static de.crunc.jackson.datatype.vertx.matcher.JsonParserMatchers.nextToken;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for the {@code nextXxx} shortcuts of {@link JsonElementParser}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class JsonElementParserNextValueTest extends JsonElementParserBaseTest {
+
+    private JsonParser jp;
+
+    @Test
+    public void nextFieldNameShouldMatchSerializableString() throws IOException {
+        jp = createParser(object()
+                .put("foo", 1));
+
+        assertThat(jp, nextToken(START_OBJECT));
+        assertThat(jp.nextFieldName(new SerializedString("foo")), is(true));
+        assertThat(jp, hasCurrentToken(FIELD_NAME));
+        assertThat(jp.nextFieldName(new SerializedString("foo")), is(false));
+        assertThat(jp, hasCurrentToken(VALUE_NUMBER_INT));
+    }
+
+    @Test
+    public void nextFieldNameShouldNotMatchOtherName() throws IOException {
+        jp = createParser(object()
+                .put("foo", 1));
+
+        assertThat(jp, nextToken(START_OBJECT));
+        assertThat(jp.nextFieldName(new SerializedString("bar")), is(false));
+        assertThat(jp, hasCurrentToken(FIELD_NAME));
+    }
+
+    @Test
+    public void nextFieldNameShouldReturnNameOrNull() throws IOException {
+        jp = createParser(object()
+                .put("foo", "bar"));
+
+        assertThat(jp, nextToken(START_OBJECT));
+        assertThat(jp.nextFieldName(), is("foo"));
+        assertThat(jp.nextFieldName(), is(nullValue()));
+        assertThat(jp, hasCurrentToken(VALUE_STRING));
+        assertThat(jp.nextFieldName(), is(nullValue()));
+        assertThat(jp, hasCurrentToken(END_OBJECT));
+    }
+
+    @Test
+    public void nextTextValueShouldReturnStringsOnly() throws IOException {
+        jp = createParser(array()
+                .add("foo")
+                .add(17));
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp.nextTextValue(), is("foo"));
+        assertThat(jp.nextTextValue(), is(nullValue()));
+        assertThat(jp, hasCurrentToken(VALUE_NUMBER_INT));
+    }
+
+    @Test
+    public void nextIntValueShouldReturnIntegersOnly() throws IOException {
+        jp = createParser(array()
+                .add(17)
+                .add(42L)
+                .add("foo"));
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp.nextIntValue(-1), is(17));
+        assertThat(jp.nextIntValue(-1), is(42));
+        assertThat(jp.nextIntValue(-1), is(-1));
+        assertThat(jp, hasCurrentToken(VALUE_STRING));
+    }
+
+    @Test
+    public void nextLongValueShouldReturnIntegersOnly() throws IOException {
+        jp = createParser(array()
+                .add(Long.MAX_VALUE)
+                .add(3.5));
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp.nextLongValue(-1L), is(Long.MAX_VALUE));
+        assertThat(jp.nextLongValue(-1L), is(-1L));
+        assertThat(jp, hasCurrentToken(VALUE_NUMBER_FLOAT));
+    }
+
+    @Test
+    public void nextBooleanValueShouldReturnBooleansOnly() throws IOException {
+        jp = createParser(array()
+                .add(true)
+                .add(false)
+                .addNull());
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp.nextBooleanValue(), is(Boolean.TRUE));
+        assertThat(jp.nextBooleanValue(), is(Boolean.FALSE));
+        assertThat(jp.nextBooleanValue(), is(nullValue()));
+        assertThat(jp, hasCurrentToken(VALUE_NULL));
+    }
+}
@@ -0,0 +1,96 @@
+package de.crunc.jackson.datatype.vertx.parser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.fasterxml.jackson.core.JsonToken.*;
+import static de.crunc.jackson.datatype.vertx.JsonArrayBuilder.array;
+import static de.crunc.jackson.datatype.vertx.matcher.JsonParserMatchers.nextToken;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for the numeric accessors of {@link JsonElementParser}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class JsonElementParserNumberTest extends JsonElementParserBaseTest {
+
+    private JsonParser jp;
+
+    @Test
+    public void shouldConvertIntegralNumbersToExactDecimals() throws IOException {
+        jp = createParser(array()
+                .add(Long.MAX_VALUE)
+                .add(42));
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(VALUE_NUMBER_INT));
+        assertThat(jp.getDecimalValue(), is(BigDecimal.valueOf(Long.MAX_VALUE)));
+        assertThat(jp, nextToken(VALUE_NUMBER_INT));
+        assertThat(jp.getDecimalValue(), is(new BigDecimal("42")));
+    }
+
+    @Test
+    public void shouldConvertFloatingPointNumbersToShortestDecimals() throws IOException {
+        jp = createParser(array()
+                .add(0.1)
+                .add(0.1f));
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(VALUE_NUMBER_FLOAT));
+        assertThat(jp.getDecimalValue(), is(new BigDecimal("0.1")));
+        assertThat(jp, nextToken(VALUE_NUMBER_FLOAT));
+        assertThat(jp.getDecimalValue(), is(new BigDecimal("0.1")));
+    }
+
+    @Test
+    public void shouldCacheCoercedValuesForCurrentToken() throws IOException {
+        jp = createParser(array()
+                .add(17)
+                .add(18));
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(VALUE_NUMBER_INT));
+        assertThat(jp.getDecimalValue(), is(sameInstance(jp.getDecimalValue())));
+        assertThat(jp.getBigIntegerValue(), is(sameInstance(jp.getBigIntegerValue())));
+        assertThat(jp.getText(), is(sameInstance(jp.getText())));
+        assertThat(jp.getText(), is("17"));
+
+        assertThat(jp, nextToken(VALUE_NUMBER_INT));
+        assertThat(jp.getDecimalValue(), is(new BigDecimal("18")));
+        assertThat(jp.getText(), is("18"));
+    }
+
+    @Test
+    public void shouldParseNumericStringOnce() throws IOException {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("price", "1234.5678");
+        jp = createParser(new JsonObject(map));
+
+        assertThat(jp, nextToken(START_OBJECT));
+        assertThat(jp, nextToken(FIELD_NAME));
+        assertThat(jp, nextToken(VALUE_STRING));
+        assertThat(jp.getNumberValue(), is(sameInstance(jp.getNumberValue())));
+        assertThat(jp.getDecimalValue(), is(new BigDecimal("1234.5678")));
+        assertThat(jp.getIntValue(), is(1234));
+    }
+
+    @Test
+    public void shouldConvertBigIntegerExactly() throws IOException {
+        jp = createParser(array()
+                .add(new BigInteger("123456789012345678901234567890")));
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(VALUE_NUMBER_INT));
+        assertThat(jp.getBigIntegerValue(), is(new BigInteger("123456789012345678901234567890")));
+        assertThat(jp.getDecimalValue(), is(new BigDecimal("123456789012345678901234567890")));
+    }
+}
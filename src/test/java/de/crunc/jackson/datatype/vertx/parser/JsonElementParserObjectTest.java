@@ -13,6 +13,7 @@ import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
 import static de.crunc.jackson.datatype.vertx.matcher.JsonParserMatchers.*;
 import static de.crunc.jackson.datatype.vertx.matcher.MoreMatchers.closeTo;
 import static de.crunc.jackson.datatype.vertx.matcher.MoreMatchers.nullValue;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
 public class JsonElementParserObjectTest extends JsonElementParserBaseTest {
@@ -496,4 +497,74 @@ public class JsonElementParserObjectTest extends JsonElementParserBaseTest {
 
         assertThat(jp, nextToken(nullValue()));
     }
+
+    @Test
+    public void shouldReturnPrioritizedFieldsFirst() throws IOException {
+        JsonElementParser parser = (JsonElementParser) createParser(object()
+                .put("a", 1)
+                .put("b", object()
+                        .put("x", 1)
+                        .put("y", 2))
+                .put("c", 3)
+                .put("d", 4));
+        jp = parser;
+
+        assertThat(jp, nextToken(START_OBJECT));
+        assertThat(parser.prioritizeFields("d", "missing", "b"), is(true));
+        {
+            assertThat(jp, nextToken(FIELD_NAME));
+            assertThat(jp, hasCurrentName("d"));
+            assertThat(jp, nextToken(VALUE_NUMBER_INT));
+            assertThat(jp, hasIntValue(4));
+
+            assertThat(jp, nextToken(FIELD_NAME));
+            assertThat(jp, hasCurrentName("b"));
+            assertThat(jp, nextToken(START_OBJECT));
+            assertThat(parser.prioritizeFields("y"), is(true));
+            {
+                assertThat(jp, nextToken(FIELD_NAME));
+                assertThat(jp, hasCurrentName("y"));
+                assertThat(jp, nextToken(VALUE_NUMBER_INT));
+                assertThat(jp, nextToken(FIELD_NAME));
+                assertThat(jp, hasCurrentName("x"));
+                assertThat(jp, nextToken(VALUE_NUMBER_INT));
+            }
+            assertThat(jp, nextToken(END_OBJECT));
+
+            assertThat(jp, nextToken(FIELD_NAME));
+            assertThat(jp, hasCurrentName("a"));
+            assertThat(parser.prioritizeFields("c"), is(false));
+            assertThat(jp, nextToken(VALUE_NUMBER_INT));
+
+            assertThat(jp, nextToken(FIELD_NAME));
+            assertThat(jp, hasCurrentName("c"));
+            assertThat(jp, nextToken(VALUE_NUMBER_INT));
+        }
+        assertThat(jp, nextToken(END_OBJECT));
+
+        assertThat(jp, nextToken(nullValue()));
+    }
+
+    @Test
+    public void shouldReturnRepeatedPrioritizedFieldsOnce() throws IOException {
+        JsonElementParser parser = (JsonElementParser) createParser(object()
+                .put("a", 1)
+                .put("b", 2));
+        jp = parser;
+
+        assertThat(jp, nextToken(START_OBJECT));
+        assertThat(parser.prioritizeFields("b", "b"), is(true));
+        {
+            assertThat(jp, nextToken(FIELD_NAME));
+            assertThat(jp, hasCurrentName("b"));
+            assertThat(jp, nextToken(VALUE_NUMBER_INT));
+
+            assertThat(jp, nextToken(FIELD_NAME));
+            assertThat(jp, hasCurrentName("a"));
+            assertThat(jp, nextToken(VALUE_NUMBER_INT));
+        }
+        assertThat(jp, nextToken(END_OBJECT));
+
+        assertThat(jp, nextToken(nullValue()));
+    }
 }
\ No newline at end of file
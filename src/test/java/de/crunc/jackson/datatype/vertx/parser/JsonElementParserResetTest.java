@@ -0,0 +1,106 @@
+package de.crunc.jackson.datatype.vertx.parser;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static com.fasterxml.jackson.core.JsonToken.*;
+import static de.crunc.jackson.datatype.vertx.JsonArrayBuilder.array;
+import static de.crunc.jackson.datatype.vertx.JsonObjectBuilder.object;
+import static de.crunc.jackson.datatype.vertx.matcher.JsonParserMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link JsonElementParser#reset(Object)}.
+ *
+ * @author Hauke Jaeger, hauke.jaeger@googlemail.com
+ */
+public class JsonElementParserResetTest {
+
+    private JsonElementParser jp;
+
+    @Test
+    public void shouldParseAgainAfterReset() throws IOException {
+        jp = new JsonElementParser(object()
+                .put("a", object()
+                        .put("b", 1))
+                .build());
+
+        while (jp.nextToken() != null) {
+            // consume everything
+        }
+        jp.close();
+
+        jp.reset(array()
+                .add(array()
+                        .add("x"))
+                .build());
+
+        assertThat(jp.isClosed(), is(false));
+        assertThat(jp, hasCurrentToken(nullValue()));
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(VALUE_STRING));
+        assertThat(jp, hasTextValue("x"));
+        assertThat(jp, nextToken(END_ARRAY));
+        assertThat(jp, nextToken(END_ARRAY));
+        assertThat(jp, nextToken(nullValue()));
+    }
+
+    @Test
+    public void shouldResetInTheMiddleOfParsing() throws IOException {
+        jp = new JsonElementParser(object()
+                .put("a", object()
+                        .put("b", object()
+                                .put("c", true)))
+                .build());
+
+        assertThat(jp, nextToken(START_OBJECT));
+        assertThat(jp, nextToken(FIELD_NAME));
+        assertThat(jp, nextToken(START_OBJECT));
+
+        jp.reset(object()
+                .put("d", false)
+                .build());
+
+        assertThat(jp, nextToken(START_OBJECT));
+        assertThat(jp, nextToken(FIELD_NAME));
+        assertThat(jp, hasCurrentName("d"));
+        assertThat(jp, nextToken(VALUE_FALSE));
+        assertThat(jp, nextToken(END_OBJECT));
+        assertThat(jp, nextToken(nullValue()));
+    }
+
+    @Test
+    public void shouldReuseCursorsOfSameDepth() throws IOException {
+        jp = new JsonElementParser(array()
+                .add(object()
+                        .put("a", 1))
+                .add(object()
+                        .put("b", 2))
+                .build());
+
+        assertThat(jp, nextToken(START_ARRAY));
+        assertThat(jp, nextToken(START_OBJECT));
+        Object first = jp.getParsingContext();
+        assertThat(jp, nextToken(FIELD_NAME));
+        assertThat(jp, hasCurrentName("a"));
+        assertThat(jp, nextToken(VALUE_NUMBER_INT));
+        assertThat(jp, nextToken(END_OBJECT));
+        assertThat(jp, nextToken(START_OBJECT));
+        assertThat(jp.getParsingContext(), is(sameInstance(first)));
+        assertThat(jp, nextToken(FIELD_NAME));
+        assertThat(jp, hasCurrentName("b"));
+        assertThat(jp, nextToken(VALUE_NUMBER_INT));
+        assertThat(jp, nextToken(END_OBJECT));
+        assertThat(jp, nextToken(END_ARRAY));
+        assertThat(jp, nextToken(nullValue()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void resetShouldFailForNull() {
+        jp = new JsonElementParser(object().build());
+        jp.reset(null);
+    }
+}
@@ -4,6 +4,10 @@ import org.junit.Test;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static com.fasterxml.jackson.core.JsonToken.*;
 import static de.crunc.jackson.datatype.vertx.JsonArrayBuilder.array;
@@ -321,4 +325,24 @@ public class JsonObjectCursorTest {
         assertThat(cursor.currentElement(), is(nullValue()));
         assertThat(cursor.currentHasChildren(), is(false));
     }
+
+    @Test
+    public void shouldWrapRawMapsAndLists() {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("map", new HashMap<String, Object>());
+        map.put("list", new ArrayList<Object>());
+        cursor = new JsonObjectCursor(new JsonObject(map), null);
+
+        assertThat(cursor.nextToken(), is(FIELD_NAME));
+        assertThat(cursor.getCurrentName(), is("map"));
+        assertThat(cursor.nextToken(), is(START_OBJECT));
+        assertThat(cursor.currentElement(), is(instanceOf(JsonObject.class)));
+
+        assertThat(cursor.nextToken(), is(FIELD_NAME));
+        assertThat(cursor.getCurrentName(), is("list"));
+        assertThat(cursor.nextToken(), is(START_ARRAY));
+        assertThat(cursor.currentElement(), is(instanceOf(JsonArray.class)));
+
+        assertThat(cursor.nextToken(), is(nullValue()));
+    }
 }